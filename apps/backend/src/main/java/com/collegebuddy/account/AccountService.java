@@ -1,11 +1,13 @@
 package com.collegebuddy.account;
 
 import com.collegebuddy.common.exceptions.UnauthorizedException;
+import com.collegebuddy.connection.ConnectionGraph;
 import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.media.MediaStorageService;
 import com.collegebuddy.repo.ProfileRepository;
 import com.collegebuddy.repo.UserRepository;
+import com.collegebuddy.security.TokenRevocationStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,15 +23,21 @@ public class AccountService {
     private final ProfileRepository profiles;
     private final PasswordEncoder passwordEncoder;
     private final MediaStorageService mediaStorage;
+    private final ConnectionGraph connectionGraph;
+    private final TokenRevocationStore tokenRevocations;
 
     public AccountService(UserRepository users,
                           ProfileRepository profiles,
                           PasswordEncoder passwordEncoder,
-                          MediaStorageService mediaStorage) {
+                          MediaStorageService mediaStorage,
+                          ConnectionGraph connectionGraph,
+                          TokenRevocationStore tokenRevocations) {
         this.users = users;
         this.profiles = profiles;
         this.passwordEncoder = passwordEncoder;
         this.mediaStorage = mediaStorage;
+        this.connectionGraph = connectionGraph;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Transactional
@@ -46,20 +54,18 @@ public class AccountService {
             throw new UnauthorizedException("Incorrect password");
         }
 
-        // Delete avatar file if exists
+        // Release the avatar; unless another profile uses the same image the file is
+        // deleted after commit, so a storage failure cannot roll back the deletion
         Profile profile = profiles.findById(userId).orElse(null);
-        if (profile != null && profile.getAvatarUrl() != null) {
-            try {
-                mediaStorage.deleteFile(profile.getAvatarUrl());
-                log.info("Deleted avatar for user ID: {}", userId);
-            } catch (Exception e) {
-                log.error("Failed to delete avatar for user ID: {}, continuing with account deletion", userId, e);
-                // Continue with account deletion even if avatar deletion fails
-            }
+        if (profile != null && mediaStorage.releaseAvatar(profile.getAvatarUrl())) {
+            log.info("Avatar of user ID: {} will be deleted", userId);
         }
 
         // Delete user (CASCADE will delete all related data)
         users.delete(user);
+        // The cascade bypasses ConnectionEntityListener, so drop the user's edges explicitly
+        connectionGraph.usersChanged(userId);
+        tokenRevocations.revokeAll(userId);
         log.info("Successfully deleted account for user ID: {}", userId);
     }
 }
@@ -6,10 +6,13 @@ import com.collegebuddy.domain.AccountStatus;
 import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.Role;
 import com.collegebuddy.domain.User;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
 import com.collegebuddy.repo.ConnectionRepository;
 import com.collegebuddy.repo.MessageRepository;
 import com.collegebuddy.repo.ProfileRepository;
 import com.collegebuddy.repo.UserRepository;
+import com.collegebuddy.security.TokenRevocationStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -26,15 +29,18 @@ public class AdminService {
     private final ProfileRepository profiles;
     private final ConnectionRepository connections;
     private final MessageRepository messages;
+    private final TokenRevocationStore tokenRevocations;
 
     public AdminService(UserRepository users,
                         ProfileRepository profiles,
                         ConnectionRepository connections,
-                        MessageRepository messages) {
+                        MessageRepository messages,
+                        TokenRevocationStore tokenRevocations) {
         this.users = users;
         this.profiles = profiles;
         this.connections = connections;
         this.messages = messages;
+        this.tokenRevocations = tokenRevocations;
     }
 
     /**
@@ -67,7 +73,7 @@ public class AdminService {
                     user.getCampusDomain(),
                     user.getStatus(),
                     user.getRole(),
-                    profile != null ? profile.getAvatarUrl() : null,
+                    profile != null ? AvatarUrls.rendition(profile.getAvatarUrl(), AvatarSize.SMALL) : null,
                     null // createdAt not in User entity currently
             );
         });
@@ -91,7 +97,7 @@ public class AdminService {
                 user.getCampusDomain(),
                 user.getStatus(),
                 user.getRole(),
-                profile != null ? profile.getAvatarUrl() : null,
+                profile != null ? AvatarUrls.rendition(profile.getAvatarUrl(), AvatarSize.MEDIUM) : null,
                 null
         );
     }
@@ -114,6 +120,10 @@ public class AdminService {
                  adminId, targetUserId, user.getStatus(), newStatus);
 
         user.setStatus(newStatus);
+        if (newStatus != AccountStatus.ACTIVE) {
+            // Sign the user out everywhere instead of waiting for their tokens to expire
+            tokenRevocations.revokeAll(user);
+        }
         users.save(user);
     }
 
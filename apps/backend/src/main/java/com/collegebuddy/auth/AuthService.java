@@ -23,10 +23,14 @@ import com.collegebuddy.repo.UserRepository;
 import com.collegebuddy.repo.VerificationTokenRepository;
 import com.collegebuddy.repo.PasswordResetTokenRepository;
 import com.collegebuddy.repo.ProfileRepository;
+import com.collegebuddy.security.TokenRevocationStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -47,6 +51,8 @@ public class AuthService {
     private final com.collegebuddy.security.JwtService jwtService;
     private final ProfileRepository profiles;
     private final UserDtoMapper userDtoMapper;
+    private final TokenRevocationStore tokenRevocations;
+    private final TransactionTemplate transactions;
 
     public AuthService(UserRepository users,
                        VerificationTokenRepository tokens,
@@ -56,7 +62,9 @@ public class AuthService {
                        EmailService emailService,
                        com.collegebuddy.security.JwtService jwtService,
                        ProfileRepository profiles,
-                       UserDtoMapper userDtoMapper) {
+                       UserDtoMapper userDtoMapper,
+                       TokenRevocationStore tokenRevocations,
+                       PlatformTransactionManager transactionManager) {
         this.users = users;
         this.tokens = tokens;
         this.passwordResetTokens = passwordResetTokens;
@@ -66,6 +74,8 @@ public class AuthService {
         this.jwtService = jwtService;
         this.profiles = profiles;
         this.userDtoMapper = userDtoMapper;
+        this.tokenRevocations = tokenRevocations;
+        this.transactions = new TransactionTemplate(transactionManager);
     }
 
     public UserDto getUserById(Long userId) {
@@ -75,6 +85,10 @@ public class AuthService {
         return userDtoMapper.toDto(user, profile);
     }
 
+    /**
+     * Hashes the password before opening a transaction, so the deliberately slow
+     * BCrypt work never holds a database connection; only the inserts are transactional.
+     */
     public AuthResponse signup(SignupRequest request) {
         if (request.email() == null || !request.email().endsWith(".edu")) {
             throw new InvalidEmailDomainException("Campus-only: must use .edu email");
@@ -91,22 +105,18 @@ public class AuthService {
         newUser.setStatus(AccountStatus.PENDING_VERIFICATION);
         newUser.setRole(Role.STUDENT);
 
-        User saved = users.save(newUser);
-
-        String tokenValue = tokenService.generateVerificationToken(saved.getId());
-
-        // Try to send verification email, but don't fail signup if email fails
-        try {
-            emailService.sendVerificationEmail(
-                    saved.getEmail(),
-                    tokenValue
-            );
-            log.info("Verification email sent successfully to {}", saved.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send verification email to {}. User can request resend later. Error: {}",
-                    saved.getEmail(), e.getMessage());
-            // Don't throw - allow signup to succeed even if email fails
-        }
+        transactions.executeWithoutResult(status -> {
+            // Checked again: another signup may have taken the email while hashing
+            if (users.findByEmail(newUser.getEmail()).isPresent()) {
+                throw new EmailAlreadyInUseException("Email already registered");
+            }
+            User saved = users.save(newUser);
+
+            String tokenValue = tokenService.generateVerificationToken(saved.getId());
+
+            // Queued with the token in this transaction; delivered in the background
+            emailService.sendVerificationEmail(saved.getEmail(), tokenValue);
+        });
 
         return new AuthResponse("pending", null);
     }
@@ -151,6 +161,7 @@ public class AuthService {
         return new AuthResponse("ok", jwt);
     }
 
+    @Transactional
     public void resendVerification(ResendVerificationRequest request) {
         Optional<User> userOpt = users.findByEmail(request.email());
         if (userOpt.isEmpty()) {
@@ -164,20 +175,10 @@ public class AuthService {
 
         String tokenValue = tokenService.generateVerificationToken(u.getId());
 
-        // Try to send verification email, but don't fail if email service is down
-        try {
-            emailService.sendVerificationEmail(
-                    u.getEmail(),
-                    tokenValue
-            );
-            log.info("Resent verification email to {}", u.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to resend verification email to {}. Error: {}",
-                    u.getEmail(), e.getMessage());
-            // Don't throw - just log the error
-        }
+        emailService.sendVerificationEmail(u.getEmail(), tokenValue);
     }
 
+    @Transactional
     public void forgotPassword(ForgotPasswordRequest request) {
         Optional<User> userOpt = users.findByEmail(request.email());
         if (userOpt.isEmpty()) {
@@ -195,15 +196,8 @@ public class AuthService {
         resetToken.setExpiresAt(Instant.now().plus(15, ChronoUnit.MINUTES));
         passwordResetTokens.save(resetToken);
 
-        // Send password reset email
-        try {
-            emailService.sendPasswordResetEmail(user.getEmail(), tokenValue);
-            log.info("Password reset email sent to {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to {}. Error: {}",
-                    user.getEmail(), e.getMessage());
-            // Don't throw - just log the error
-        }
+        // Queue password reset email
+        emailService.sendPasswordResetEmail(user.getEmail(), tokenValue);
     }
 
     public void resetPassword(ResetPasswordRequest request) {
@@ -225,6 +219,8 @@ public class AuthService {
 
         User user = userOpt.get();
         user.setHashedPassword(encoder.encode(request.newPassword()));
+        // Sessions started with the old password end here
+        tokenRevocations.revokeAll(user);
         users.save(user);
 
         // Delete the used token
@@ -0,0 +1,152 @@
+package com.collegebuddy.blocking;
+
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.domain.BlockedUser;
+import com.collegebuddy.eventbus.EventBus;
+import com.collegebuddy.repo.BlockedUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-user block sets ("blocked by me" and "blocked me") held in a bounded cache,
+ * so permission checks are a binary search instead of a query.
+ *
+ * A user's sets are loaded with one query on first use. Every insert or delete of a
+ * BlockedUser row is reported by BlockedUserEntityListener; once the transaction commits
+ * both users are evicted here and, through the EventBus, on every other node.
+ *
+ * The EventBus may drop an event, and a missed block is a safety problem, so every
+ * collegebuddy.blocking.reconcile-ms this node also evicts the users of blocks created
+ * since its previous pass. A block is therefore enforced everywhere within that interval
+ * even if its event is lost. A missed unblock only keeps the block in force for longer;
+ * entries expire after a fixed time, which covers that and rows removed by ON DELETE CASCADE.
+ */
+@Component
+public class BlockGraphCache {
+
+    static final String INVALIDATE_CHANNEL = "block_invalidate";
+
+    private final BlockedUserRepository blockedUsers;
+    private final EventBus eventBus;
+    private final Cache<Long, BlockSets> cache;
+    private final long reconcileMs;
+
+    // Start of the previous reconcile pass; the next one looks back from here
+    private volatile Instant reconciledFrom = Instant.now();
+
+    public BlockGraphCache(BlockedUserRepository blockedUsers,
+                           EventBus eventBus,
+                           @Value("${collegebuddy.blocking.cache.max-users:100000}") long maxUsers,
+                           @Value("${collegebuddy.blocking.cache.ttl-ms:900000}") long ttlMs,
+                           @Value("${collegebuddy.blocking.reconcile-ms:30000}") long reconcileMs) {
+        this.blockedUsers = blockedUsers;
+        this.eventBus = eventBus;
+        this.reconcileMs = reconcileMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        eventBus.subscribe(INVALIDATE_CHANNEL, userId -> cache.invalidate(Long.valueOf(userId)));
+    }
+
+    /**
+     * Whether either user has blocked the other
+     */
+    public boolean isBlockBetween(Long userId, Long otherUserId) {
+        BlockSets sets = sets(userId);
+        return sets.hasBlocked(otherUserId) || sets.isBlockedBy(otherUserId);
+    }
+
+    /**
+     * Whether :blockerId has blocked :blockedId
+     */
+    public boolean hasBlocked(Long blockerId, Long blockedId) {
+        return sets(blockerId).hasBlocked(blockedId);
+    }
+
+    /**
+     * Whether :otherUserId has blocked :userId. Looks only at :userId's sets, so checking
+     * many others against one user is a single cache entry.
+     */
+    public boolean isBlockedBy(Long userId, Long otherUserId) {
+        return sets(userId).isBlockedBy(otherUserId);
+    }
+
+    /**
+     * The candidates with no block in either direction with :userId, in their original order
+     */
+    public List<Long> filterBlocked(Long userId, Collection<Long> candidateIds) {
+        BlockSets sets = sets(userId);
+        return candidateIds.stream()
+                .filter(id -> !sets.hasBlocked(id) && !sets.isBlockedBy(id))
+                .toList();
+    }
+
+    /**
+     * Evict both users here, and on every other node, once the current transaction commits
+     */
+    public void invalidate(Long blockerId, Long blockedId) {
+        AfterCommit.run(() -> {
+            cache.invalidateAll(List.of(blockerId, blockedId));
+            eventBus.publishToPeers(INVALIDATE_CHANNEL, String.valueOf(blockerId));
+            eventBus.publishToPeers(INVALIDATE_CHANNEL, String.valueOf(blockedId));
+        });
+    }
+
+    /**
+     * Evicts both users of every block created since the previous pass, in case the
+     * invalidation event never arrived
+     */
+    @Scheduled(
+            initialDelayString = "${collegebuddy.blocking.reconcile-ms:30000}",
+            fixedDelayString = "${collegebuddy.blocking.reconcile-ms:30000}"
+    )
+    public void reconcile() {
+        Instant startedAt = Instant.now();
+        // Overlap by one interval: createdAt is stamped before the row commits
+        Instant since = reconciledFrom.minusMillis(reconcileMs);
+        for (BlockedUser row : blockedUsers.findCreatedSince(since)) {
+            cache.invalidateAll(List.of(row.getBlockerId(), row.getBlockedId()));
+        }
+        reconciledFrom = startedAt;
+    }
+
+    private BlockSets sets(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    private BlockSets load(Long userId) {
+        List<BlockedUser> rows = blockedUsers.findAllInvolving(userId);
+        long[] blockedByMe = rows.stream()
+                .filter(row -> row.getBlockerId().equals(userId))
+                .mapToLong(BlockedUser::getBlockedId)
+                .sorted()
+                .toArray();
+        long[] blockedMe = rows.stream()
+                .filter(row -> row.getBlockedId().equals(userId))
+                .mapToLong(BlockedUser::getBlockerId)
+                .sorted()
+                .toArray();
+        return new BlockSets(blockedByMe, blockedMe);
+    }
+
+    private record BlockSets(long[] blockedByMe, long[] blockedMe) {
+
+        boolean hasBlocked(long otherUserId) {
+            return Arrays.binarySearch(blockedByMe, otherUserId) >= 0;
+        }
+
+        boolean isBlockedBy(long otherUserId) {
+            return Arrays.binarySearch(blockedMe, otherUserId) >= 0;
+        }
+    }
+}
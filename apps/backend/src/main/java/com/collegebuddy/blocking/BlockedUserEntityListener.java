@@ -0,0 +1,28 @@
+package com.collegebuddy.blocking;
+
+import com.collegebuddy.domain.BlockedUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Evicts both users from the BlockGraphCache whenever a block is created or removed,
+ * whichever code path wrote the row.
+ *
+ * Hibernate creates listeners through Spring while the EntityManagerFactory is
+ * still being built, so the cache is looked up lazily.
+ */
+public class BlockedUserEntityListener {
+
+    private final ObjectProvider<BlockGraphCache> blockGraph;
+
+    public BlockedUserEntityListener(ObjectProvider<BlockGraphCache> blockGraph) {
+        this.blockGraph = blockGraph;
+    }
+
+    @PostPersist
+    @PostRemove
+    void onChange(BlockedUser block) {
+        blockGraph.ifAvailable(cache -> cache.invalidate(block.getBlockerId(), block.getBlockedId()));
+    }
+}
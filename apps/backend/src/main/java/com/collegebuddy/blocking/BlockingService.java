@@ -9,6 +9,8 @@ import com.collegebuddy.domain.BlockedUser;
 import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.dto.BlockedUserDto;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
 import com.collegebuddy.repo.BlockedUserRepository;
 import com.collegebuddy.repo.ConnectionRepository;
 import com.collegebuddy.repo.ProfileRepository;
@@ -32,17 +34,20 @@ public class BlockingService {
     private final ProfileRepository profileRepository;
     private final ConnectionRepository connectionRepository;
     private final ConnectionService connectionService;
+    private final BlockGraphCache blockGraph;
 
     public BlockingService(BlockedUserRepository blockedUserRepository,
                           UserRepository userRepository,
                           ProfileRepository profileRepository,
                           ConnectionRepository connectionRepository,
-                          @Lazy ConnectionService connectionService) {
+                          @Lazy ConnectionService connectionService,
+                          BlockGraphCache blockGraph) {
         this.blockedUserRepository = blockedUserRepository;
         this.userRepository = userRepository;
         this.profileRepository = profileRepository;
         this.connectionRepository = connectionRepository;
         this.connectionService = connectionService;
+        this.blockGraph = blockGraph;
     }
 
     /**
@@ -123,14 +128,14 @@ public class BlockingService {
      * Check if userA has blocked userB
      */
     public boolean isBlocked(Long userAId, Long userBId) {
-        return blockedUserRepository.existsByBlockerIdAndBlockedId(userAId, userBId);
+        return blockGraph.hasBlocked(userAId, userBId);
     }
 
     /**
      * Check if there's a block between two users (either direction)
      */
     public boolean isBlockBetween(Long userId1, Long userId2) {
-        return blockedUserRepository.existsBlockBetween(userId1, userId2);
+        return blockGraph.isBlockBetween(userId1, userId2);
     }
 
     /**
@@ -144,7 +149,7 @@ public class BlockingService {
                 blocked.getId(),
                 blockedUserId,
                 profile != null ? profile.getDisplayName() : "Unknown User",
-                profile != null ? profile.getAvatarUrl() : null,
+                profile != null ? AvatarUrls.rendition(profile.getAvatarUrl(), AvatarSize.SMALL) : null,
                 blocked.getCreatedAt()
         );
     }
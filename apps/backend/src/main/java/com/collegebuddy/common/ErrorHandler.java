@@ -15,6 +15,8 @@ import com.collegebuddy.common.exceptions.InvalidVerificationTokenException;
 import com.collegebuddy.common.exceptions.MessagePermissionException;
 import com.collegebuddy.common.exceptions.MessagingNotAllowedException;
 import com.collegebuddy.common.exceptions.ProfileVisibilityException;
+import com.collegebuddy.common.exceptions.RateLimitExceededException;
+import com.collegebuddy.common.exceptions.ServiceBusyException;
 import com.collegebuddy.common.exceptions.UnauthorizedException;
 import com.collegebuddy.common.exceptions.UserNotFoundException;
 import com.collegebuddy.email.EmailDeliveryException;
@@ -22,6 +24,7 @@ import com.collegebuddy.media.StorageException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -173,6 +176,26 @@ public class ErrorHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(
+            ServiceBusyException ex, HttpServletRequest request) {
+        log.warn("Service busy: {}", ex.getMessage());
+        ErrorResponse error = errorResponseFactory.createErrorResponse(ex, request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(
+            RateLimitExceededException ex, HttpServletRequest request) {
+        log.info("Rate limit exceeded: {}", ex.getMessage());
+        ErrorResponse error = errorResponseFactory.createErrorResponse(ex, request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(
             IllegalArgumentException ex, HttpServletRequest request) {
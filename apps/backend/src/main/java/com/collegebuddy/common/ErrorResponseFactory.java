@@ -12,6 +12,8 @@ import com.collegebuddy.common.exceptions.InvalidVerificationTokenException;
 import com.collegebuddy.common.exceptions.MessagePermissionException;
 import com.collegebuddy.common.exceptions.MessagingNotAllowedException;
 import com.collegebuddy.common.exceptions.ProfileVisibilityException;
+import com.collegebuddy.common.exceptions.RateLimitExceededException;
+import com.collegebuddy.common.exceptions.ServiceBusyException;
 import com.collegebuddy.common.exceptions.UnauthorizedException;
 import com.collegebuddy.email.EmailDeliveryException;
 import com.collegebuddy.media.StorageException;
@@ -49,6 +51,10 @@ public class ErrorResponseFactory {
             return createAuthError("MESSAGING_NOT_ALLOWED", exception.getMessage(), path);
         } else if (exception instanceof MessagePermissionException) {
             return createAuthError("MESSAGE_PERMISSION_DENIED", exception.getMessage(), path);
+        } else if (exception instanceof ServiceBusyException) {
+            return createUnavailableError("SERVICE_BUSY", exception.getMessage(), path);
+        } else if (exception instanceof RateLimitExceededException) {
+            return createRateLimitError("RATE_LIMITED", exception.getMessage(), path);
         } else if (exception instanceof IllegalArgumentException) {
             return createValidationError("INVALID_ARGUMENT", exception.getMessage(), path);
         } else if (exception instanceof StorageException) {
@@ -96,6 +102,24 @@ public class ErrorResponseFactory {
                 .build();
     }
 
+    private ErrorResponse createUnavailableError(String errorCode, String message, String path) {
+        return ErrorResponse.builder()
+                .errorCode(errorCode)
+                .message(message)
+                .path(path)
+                .details(createDetails("category", "UNAVAILABLE_ERROR"))
+                .build();
+    }
+
+    private ErrorResponse createRateLimitError(String errorCode, String message, String path) {
+        return ErrorResponse.builder()
+                .errorCode(errorCode)
+                .message(message)
+                .path(path)
+                .details(createDetails("category", "RATE_LIMIT_ERROR"))
+                .build();
+    }
+
     private ErrorResponse createInternalError(String errorCode, String message, String path) {
         return ErrorResponse.builder()
                 .errorCode(errorCode)
@@ -0,0 +1,18 @@
+package com.collegebuddy.common.exceptions;
+
+/**
+ * The caller has used up its request allowance; the client should retry after the given delay.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
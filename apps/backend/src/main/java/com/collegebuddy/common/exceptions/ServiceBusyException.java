@@ -0,0 +1,18 @@
+package com.collegebuddy.common.exceptions;
+
+/**
+ * A bounded resource is saturated; the client should retry after the given delay.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.collegebuddy.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (summary repair, cleanup, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
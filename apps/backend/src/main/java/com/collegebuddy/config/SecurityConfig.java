@@ -1,6 +1,10 @@
 package com.collegebuddy.config;
 
+import com.collegebuddy.security.BoundedPasswordEncoder;
 import com.collegebuddy.security.JwtAuthFilter;
+import com.collegebuddy.security.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,17 +31,25 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Value("${collegebuddy.cors.allowed-origins:http://localhost:3000,http://localhost:3001,http://localhost:5173,http://localhost:5174}")
     private String allowedOrigins;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
+    // BCrypt runs on its own bounded pool; 0 threads means half the available cores
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${collegebuddy.security.password-hashing.threads:0}") int threads,
+            @Value("${collegebuddy.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${collegebuddy.security.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, poolSize, queueCapacity, timeoutMs);
     }
 
     @Bean
@@ -57,6 +69,9 @@ public class SecurityConfig {
                 new AntPathRequestMatcher("/auth/forgot-password"),
                 new AntPathRequestMatcher("/auth/reset-password"),
                 new AntPathRequestMatcher("/uploads/avatars/**"),
+                // STOMP sessions authenticate with the JWT in the CONNECT frame
+                new AntPathRequestMatcher("/ws"),
+                new AntPathRequestMatcher("/ws/**"),
                 new AntPathRequestMatcher("/actuator/health"),
                 new AntPathRequestMatcher("/actuator/health/**")
         );
@@ -77,6 +92,8 @@ public class SecurityConfig {
                                 .maxAgeInSeconds(31536000))
                 )
                 .authorizeHttpRequests(authz -> authz
+                        // Async dispatches only resume requests that were already authorized (SSE streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(publicEndpoints).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -85,6 +102,8 @@ public class SecurityConfig {
 
 
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        // Needs the authenticated principal for per-user limits
+        http.addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -1,6 +1,7 @@
 package com.collegebuddy.connection;
 
 import com.collegebuddy.dto.ConnectionStatusDto;
+import com.collegebuddy.dto.ConnectionSuggestionDto;
 import com.collegebuddy.dto.RespondToConnectionDto;
 import com.collegebuddy.dto.SendConnectionRequestDto;
 import com.collegebuddy.security.AuthenticatedUser;
@@ -16,14 +17,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/connections")
 public class ConnectionController {
 
     private final ConnectionService connectionService;
+    private final ConnectionSuggestionService suggestionService;
 
-    public ConnectionController(ConnectionService connectionService) {
+    public ConnectionController(ConnectionService connectionService,
+                                ConnectionSuggestionService suggestionService) {
         this.connectionService = connectionService;
+        this.suggestionService = suggestionService;
     }
 
     @PostMapping("/request")
@@ -40,13 +46,30 @@ public class ConnectionController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * GET /connections?fields=connections,incoming,outgoing,unread
+     * Omitting fields returns every section; unrequested sections are left out of the response
+     */
     @GetMapping
-    public ResponseEntity<ConnectionStatusDto> listConnections() {
+    public ResponseEntity<ConnectionStatusDto> listConnections(@RequestParam(required = false) String fields) {
         AuthenticatedUser current = SecurityUtils.getCurrentUser();
-        ConnectionStatusDto status = connectionService.getConnectionStatus(current.id());
+        ConnectionStatusDto status = connectionService.getConnectionStatus(
+                current.id(),
+                ConnectionStatusField.parse(fields)
+        );
         return ResponseEntity.ok(status);
     }
 
+    /**
+     * GET /connections/suggestions?limit=10
+     * Same-campus users ranked by mutual connections
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<ConnectionSuggestionDto>> suggestions(@RequestParam(defaultValue = "10") int limit) {
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        return ResponseEntity.ok(suggestionService.getSuggestions(current.id(), current.campusDomain(), limit));
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> disconnect(@PathVariable Long userId) {
         AuthenticatedUser current = SecurityUtils.getCurrentUser();
@@ -0,0 +1,28 @@
+package com.collegebuddy.connection;
+
+import com.collegebuddy.domain.Connection;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the ConnectionGraph in step with the connections table, whichever code path
+ * wrote the row (accepting a request, disconnecting, blocking).
+ *
+ * Hibernate creates listeners through Spring while the EntityManagerFactory is
+ * still being built, so the graph is looked up lazily.
+ */
+public class ConnectionEntityListener {
+
+    private final ObjectProvider<ConnectionGraph> connectionGraph;
+
+    public ConnectionEntityListener(ObjectProvider<ConnectionGraph> connectionGraph) {
+        this.connectionGraph = connectionGraph;
+    }
+
+    @PostPersist
+    @PostRemove
+    void onChange(Connection connection) {
+        connectionGraph.ifAvailable(graph -> graph.usersChanged(connection.getUserAId(), connection.getUserBId()));
+    }
+}
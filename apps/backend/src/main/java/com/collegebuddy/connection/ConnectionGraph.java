@@ -0,0 +1,201 @@
+package com.collegebuddy.connection;
+
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.eventbus.EventBus;
+import com.collegebuddy.repo.ConnectionEdge;
+import com.collegebuddy.repo.ConnectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The whole connections table as in-memory adjacency: a sorted long[] of peer ids per
+ * user, so "are these two connected" is a binary search and a friend list needs no query.
+ *
+ * Loaded from the database once the application is ready; until then calls fall back to
+ * the repository. Arrays are never modified in place, a change swaps in a new array.
+ * ConnectionEntityListener reports every insert/delete; after commit this node reloads
+ * the affected users' rows and patches their peers to match (which also cleans up after
+ * an account deletion's cascade), and the user ids go out on the EventBus so the other
+ * nodes do the same. A lost event would leave a peer wrong, so the whole graph is also
+ * rebuilt from the table every collegebuddy.connections.graph.reconcile-ms.
+ */
+@Component
+public class ConnectionGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionGraph.class);
+
+    static final String CHANGED_CHANNEL = "connection_changed";
+
+    private static final long[] NONE = new long[0];
+
+    private final ConnectionRepository connections;
+    private final EventBus eventBus;
+
+    private final Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Users changed while a load was running, reloaded once it is installed
+    private Set<Long> changedDuringLoad; // guarded by this
+
+    public ConnectionGraph(ConnectionRepository connections, EventBus eventBus) {
+        this.connections = connections;
+        this.eventBus = eventBus;
+        eventBus.subscribe(CHANGED_CHANNEL, userId -> reload(Long.valueOf(userId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Catches up with any change whose event never arrived
+     */
+    @Scheduled(
+            initialDelayString = "${collegebuddy.connections.graph.reconcile-ms:900000}",
+            fixedDelayString = "${collegebuddy.connections.graph.reconcile-ms:900000}"
+    )
+    public void reconcile() {
+        if (loaded) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            changedDuringLoad = new HashSet<>();
+        }
+
+        List<ConnectionEdge> edges = connections.findAllEdges();
+
+        // Size every array up front, then fill and sort
+        Map<Long, Integer> degree = new HashMap<>();
+        for (ConnectionEdge edge : edges) {
+            degree.merge(edge.userAId(), 1, Integer::sum);
+            degree.merge(edge.userBId(), 1, Integer::sum);
+        }
+        Map<Long, long[]> built = new HashMap<>(degree.size() * 2);
+        degree.forEach((userId, count) -> built.put(userId, new long[count]));
+        Map<Long, Integer> filled = new HashMap<>(degree.size() * 2);
+        for (ConnectionEdge edge : edges) {
+            built.get(edge.userAId())[filled.merge(edge.userAId(), 1, Integer::sum) - 1] = edge.userBId();
+            built.get(edge.userBId())[filled.merge(edge.userBId(), 1, Integer::sum) - 1] = edge.userAId();
+        }
+        built.values().forEach(Arrays::sort);
+
+        Set<Long> replay;
+        synchronized (this) {
+            // Swap entries rather than clearing, so readers never see an empty graph
+            adjacency.putAll(built);
+            adjacency.keySet().retainAll(built.keySet());
+            loaded = true;
+            replay = changedDuringLoad;
+            changedDuringLoad = null;
+        }
+        replay.forEach(this::reload);
+
+        log.info("Connection graph loaded: {} connections across {} users", edges.size(), built.size());
+    }
+
+    public boolean areConnected(Long userId, Long otherUserId) {
+        if (!loaded) {
+            return connections.existsByUserAIdAndUserBId(
+                    Math.min(userId, otherUserId), Math.max(userId, otherUserId));
+        }
+        return Arrays.binarySearch(adjacency.getOrDefault(userId, NONE), otherUserId) >= 0;
+    }
+
+    /**
+     * Sorted ids of everyone :userId is connected to. The array is shared; do not modify it.
+     */
+    public long[] friendsOf(Long userId) {
+        if (!loaded) {
+            return connections.findPeerIds(userId).stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        return adjacency.getOrDefault(userId, NONE);
+    }
+
+    /**
+     * Reload these users here, and on every other node, once the current transaction commits
+     */
+    public void usersChanged(Long... userIds) {
+        AfterCommit.run(() -> {
+            for (Long userId : userIds) {
+                try {
+                    reload(userId);
+                } catch (RuntimeException e) {
+                    // Already committed; the next reconcile picks it up
+                    log.warn("Failed to reload connections of user {}", userId, e);
+                }
+                eventBus.publishToPeers(CHANGED_CHANNEL, String.valueOf(userId));
+            }
+        });
+    }
+
+    private synchronized void reload(Long userId) {
+        // During a load the snapshot may predate this change, so it is replayed afterwards
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(userId);
+        }
+        if (!loaded) {
+            return;
+        }
+
+        long[] peers = connections.findPeerIds(userId).stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] previous = peers.length > 0 ? adjacency.put(userId, peers) : adjacency.remove(userId);
+        if (previous == null) {
+            previous = NONE;
+        }
+
+        // Connections are symmetric, so patch the other side of every edge that changed
+        for (long peer : previous) {
+            if (Arrays.binarySearch(peers, peer) < 0) {
+                adjacency.computeIfPresent(peer, (id, current) -> without(current, userId));
+            }
+        }
+        for (long peer : peers) {
+            if (Arrays.binarySearch(previous, peer) < 0) {
+                adjacency.compute(peer, (id, current) -> with(current != null ? current : NONE, userId));
+            }
+        }
+    }
+
+    private static long[] with(long[] sorted, long value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position >= 0) {
+            return sorted;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    private static long[] without(long[] sorted, long value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return null; // removes the map entry
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        System.arraycopy(sorted, position + 1, result, position, sorted.length - position - 1);
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package com.collegebuddy.connection;
 
+import com.collegebuddy.blocking.BlockGraphCache;
 import com.collegebuddy.common.exceptions.ConnectionAlreadyExistsException;
 import com.collegebuddy.common.exceptions.ConnectionNotFoundException;
 import com.collegebuddy.common.exceptions.ConnectionRequestNotFoundException;
@@ -17,8 +18,8 @@ import com.collegebuddy.dto.RespondToConnectionDto;
 import com.collegebuddy.dto.SendConnectionRequestDto;
 import com.collegebuddy.dto.UserDto;
 import com.collegebuddy.dto.UserDtoMapper;
+import com.collegebuddy.media.AvatarSize;
 import com.collegebuddy.messaging.MessagingService;
-import com.collegebuddy.repo.BlockedUserRepository;
 import com.collegebuddy.repo.ConnectionRepository;
 import com.collegebuddy.repo.ConnectionRequestRepository;
 import com.collegebuddy.repo.ConversationRepository;
@@ -33,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +55,8 @@ public class ConnectionService {
     private final ProfileRepository profiles;
     private final UserDtoMapper userDtoMapper;
     private final MessagingService messagingService;
-    private final BlockedUserRepository blockedUsers;
+    private final BlockGraphCache blockGraph;
+    private final ConnectionGraph connectionGraph;
 
     public ConnectionService(ConnectionRepository connections,
                              ConnectionRequestRepository requests,
@@ -63,7 +66,8 @@ public class ConnectionService {
                              ProfileRepository profiles,
                              UserDtoMapper userDtoMapper,
                              MessagingService messagingService,
-                             BlockedUserRepository blockedUsers) {
+                             BlockGraphCache blockGraph,
+                             ConnectionGraph connectionGraph) {
         this.connections = connections;
         this.requests = requests;
         this.conversations = conversations;
@@ -72,7 +76,8 @@ public class ConnectionService {
         this.profiles = profiles;
         this.userDtoMapper = userDtoMapper;
         this.messagingService = messagingService;
-        this.blockedUsers = blockedUsers;
+        this.blockGraph = blockGraph;
+        this.connectionGraph = connectionGraph;
     }
 
     @Transactional
@@ -96,7 +101,7 @@ public class ConnectionService {
             }
 
             // Check if there's a block between users
-            if (blockedUsers.existsBlockBetween(requesterId, toUserId)) {
+            if (blockGraph.isBlockBetween(requesterId, toUserId)) {
                 throw new InvalidConnectionActionException("Cannot send connection request to this user");
             }
 
@@ -104,7 +109,7 @@ public class ConnectionService {
             long b = Math.max(requesterId, toUserId);
 
             log.info("Step 2: Checking if connection exists between {} and {}", a, b);
-            if (connections.existsByUserAIdAndUserBId(a, b)) {
+            if (connectionGraph.areConnected(a, b)) {
                 throw new ConnectionAlreadyExistsException("Users are already connected");
             }
             log.info("Step 2 complete: No existing connection");
@@ -203,65 +208,77 @@ public class ConnectionService {
         }
     }
 
-    public ConnectionStatusDto getConnectionStatus(Long userId) {
-        List<Connection> myConns = connections.findByUserAIdOrUserBId(userId, userId);
-
-        Set<Long> connectionUserIds = myConns.stream()
-                .map(c -> Objects.equals(c.getUserAId(), userId) ? c.getUserBId() : c.getUserAId())
-                .collect(Collectors.toSet());
-
-        List<ConnectionRequest> incoming = requests.findByToUserIdAndStatus(userId, ConnectionRequestStatus.PENDING);
-        List<ConnectionRequest> outgoing = requests.findByFromUserIdAndStatus(userId, ConnectionRequestStatus.PENDING);
-
-        Set<Long> incomingUserIds = incoming.stream()
-                .map(ConnectionRequest::getFromUserId)
-                .collect(Collectors.toSet());
+    /**
+     * Connection status limited to the requested sections; skipped sections are null
+     * and cost no queries.
+     */
+    public ConnectionStatusDto getConnectionStatus(Long userId, Set<ConnectionStatusField> fields) {
+        boolean wantConnections = fields.contains(ConnectionStatusField.CONNECTIONS);
+        boolean wantUnread = fields.contains(ConnectionStatusField.UNREAD);
+
+        Set<Long> connectionUserIds = Set.of();
+        if (wantConnections || wantUnread) {
+            connectionUserIds = Arrays.stream(connectionGraph.friendsOf(userId))
+                    .boxed()
+                    .collect(Collectors.toSet());
+        }
 
-        Set<Long> outgoingUserIds = outgoing.stream()
-                .map(ConnectionRequest::getToUserId)
-                .collect(Collectors.toSet());
+        List<ConnectionRequest> incoming = fields.contains(ConnectionStatusField.INCOMING)
+                ? requests.findByToUserIdAndStatus(userId, ConnectionRequestStatus.PENDING)
+                : null;
+        List<ConnectionRequest> outgoing = fields.contains(ConnectionStatusField.OUTGOING)
+                ? requests.findByFromUserIdAndStatus(userId, ConnectionRequestStatus.PENDING)
+                : null;
 
         Set<Long> allUserIds = new HashSet<>();
-        allUserIds.addAll(connectionUserIds);
-        allUserIds.addAll(incomingUserIds);
-        allUserIds.addAll(outgoingUserIds);
+        if (wantConnections) {
+            allUserIds.addAll(connectionUserIds);
+        }
+        if (incoming != null) {
+            incoming.forEach(req -> allUserIds.add(req.getFromUserId()));
+        }
+        if (outgoing != null) {
+            outgoing.forEach(req -> allUserIds.add(req.getToUserId()));
+        }
 
-        Map<Long, User> userMap = users.findAllById(allUserIds).stream()
+        Map<Long, User> userMap = allUserIds.isEmpty() ? Map.of() : users.findAllById(allUserIds).stream()
                 .collect(Collectors.toMap(User::getId, u -> u));
 
-        Map<Long, Profile> profileMap = profiles.findAllById(allUserIds).stream()
+        Map<Long, Profile> profileMap = allUserIds.isEmpty() ? Map.of() : profiles.findAllById(allUserIds).stream()
                 .collect(Collectors.toMap(Profile::getUserId, p -> p));
 
-        List<UserDto> connectionDtos = connectionUserIds.stream()
+        List<UserDto> connectionDtos = !wantConnections ? null : connectionUserIds.stream()
                 .map(id -> toUserDto(userMap.get(id), profileMap.get(id)))
                 .filter(Objects::nonNull)
                 .toList();
 
-        List<ConnectionRequestDto> incomingDtos = incoming.stream()
+        List<ConnectionRequestDto> incomingDtos = incoming == null ? null : incoming.stream()
                 .map(req -> toConnectionRequestDto(req, userMap.get(req.getFromUserId()), profileMap.get(req.getFromUserId())))
                 .filter(Objects::nonNull)
                 .toList();
 
-        List<ConnectionRequestDto> outgoingDtos = outgoing.stream()
+        List<ConnectionRequestDto> outgoingDtos = outgoing == null ? null : outgoing.stream()
                 .map(req -> toConnectionRequestDto(req, userMap.get(req.getToUserId()), profileMap.get(req.getToUserId())))
                 .filter(Objects::nonNull)
                 .toList();
 
-        List<Long> friendIds = new ArrayList<>(connectionUserIds);
-        Map<Long, Long> unreadCounts = messagingService.getUnreadCounts(userId, friendIds);
+        // Served from the in-memory unread counters, not per-friend queries
+        Map<Long, Long> unreadCounts = wantUnread
+                ? messagingService.getUnreadCounts(userId, new ArrayList<>(connectionUserIds))
+                : null;
 
         return new ConnectionStatusDto(connectionDtos, incomingDtos, outgoingDtos, unreadCounts);
     }
 
     private UserDto toUserDto(User u, Profile p) {
-        return userDtoMapper.toDto(u, p);
+        return userDtoMapper.toDto(u, p, AvatarSize.SMALL);
     }
 
     private ConnectionRequestDto toConnectionRequestDto(ConnectionRequest req, User u, Profile p) {
         if (u == null) {
             return null;
         }
-        UserDto userDto = userDtoMapper.toDto(u, p);
+        UserDto userDto = userDtoMapper.toDto(u, p, AvatarSize.SMALL);
         return new ConnectionRequestDto(
                 req.getId(),
                 userDto.id(),
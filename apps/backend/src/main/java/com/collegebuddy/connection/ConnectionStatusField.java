@@ -0,0 +1,37 @@
+package com.collegebuddy.connection;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Sections of GET /connections a client can ask for with ?fields=
+ */
+public enum ConnectionStatusField {
+    CONNECTIONS,
+    INCOMING,
+    OUTGOING,
+    UNREAD;
+
+    /**
+     * Parse a comma-separated list such as "connections,unread"; blank means everything
+     */
+    public static Set<ConnectionStatusField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(ConnectionStatusField.class);
+        }
+        Set<ConnectionStatusField> parsed = EnumSet.noneOf(ConnectionStatusField.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+        return parsed;
+    }
+}
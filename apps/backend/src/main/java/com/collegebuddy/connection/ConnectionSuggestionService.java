@@ -0,0 +1,156 @@
+package com.collegebuddy.connection;
+
+import com.collegebuddy.blocking.BlockGraphCache;
+import com.collegebuddy.domain.AccountStatus;
+import com.collegebuddy.domain.Profile;
+import com.collegebuddy.domain.User;
+import com.collegebuddy.domain.Visibility;
+import com.collegebuddy.dto.ConnectionSuggestionDto;
+import com.collegebuddy.dto.UserDto;
+import com.collegebuddy.dto.UserDtoMapper;
+import com.collegebuddy.repo.ConnectionRequestRepository;
+import com.collegebuddy.repo.ProfileRepository;
+import com.collegebuddy.repo.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * "People you may know": same-campus users ranked by how many connections they share
+ * with the viewer.
+ *
+ * Mutual counts come from the in-memory ConnectionGraph. Every friend's sorted peer
+ * list is walked, skipping the viewer and existing friends (a binary search into the
+ * viewer's own list), and the remaining ids are tallied. Users with many friends
+ * split that walk across the common fork-join pool.
+ *
+ * The ranked list is cached per user for a few minutes. Connections, blocks and
+ * pending requests are re-checked on every read, so acting on a suggestion removes
+ * it immediately.
+ */
+@Service
+public class ConnectionSuggestionService {
+
+    static final int MAX_SUGGESTIONS = 50;
+
+    // Below this many friends the fork-join overhead outweighs the walk itself
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final ConnectionGraph connectionGraph;
+    private final BlockGraphCache blockGraph;
+    private final ConnectionRequestRepository requests;
+    private final UserRepository users;
+    private final ProfileRepository profiles;
+    private final UserDtoMapper userDtoMapper;
+    private final Cache<Long, List<ConnectionSuggestionDto>> cache;
+
+    public ConnectionSuggestionService(ConnectionGraph connectionGraph,
+                                       BlockGraphCache blockGraph,
+                                       ConnectionRequestRepository requests,
+                                       UserRepository users,
+                                       ProfileRepository profiles,
+                                       UserDtoMapper userDtoMapper,
+                                       @Value("${collegebuddy.suggestions.cache.max-users:50000}") long maxUsers,
+                                       @Value("${collegebuddy.suggestions.cache.ttl-ms:300000}") long ttlMs) {
+        this.connectionGraph = connectionGraph;
+        this.blockGraph = blockGraph;
+        this.requests = requests;
+        this.users = users;
+        this.profiles = profiles;
+        this.userDtoMapper = userDtoMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public List<ConnectionSuggestionDto> getSuggestions(Long userId, String campusDomain, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        List<ConnectionSuggestionDto> ranked = cache.get(userId, id -> rank(id, campusDomain));
+
+        Set<Long> pending = new HashSet<>(requests.findPendingPeerIds(userId));
+        return ranked.stream()
+                .filter(s -> !pending.contains(s.userId()))
+                .filter(s -> !connectionGraph.areConnected(userId, s.userId()))
+                .filter(s -> !blockGraph.isBlockBetween(userId, s.userId()))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<ConnectionSuggestionDto> rank(Long userId, String campusDomain) {
+        long[] friends = connectionGraph.friendsOf(userId);
+        if (friends.length == 0) {
+            return List.of();
+        }
+
+        List<Map.Entry<Long, Integer>> byMutuals = countMutuals(userId, friends).entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .toList();
+
+        // Resolve in small batches; most top candidates survive the campus/visibility checks
+        List<ConnectionSuggestionDto> ranked = new ArrayList<>();
+        for (int from = 0; from < byMutuals.size() && ranked.size() < MAX_SUGGESTIONS; from += MAX_SUGGESTIONS) {
+            List<Map.Entry<Long, Integer>> batch = byMutuals.subList(from, Math.min(from + MAX_SUGGESTIONS, byMutuals.size()));
+            List<Long> ids = batch.stream().map(Map.Entry::getKey).toList();
+            Map<Long, User> userMap = users.findAllById(ids).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            Map<Long, Profile> profileMap = profiles.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Profile::getUserId, Function.identity()));
+
+            for (Map.Entry<Long, Integer> candidate : batch) {
+                User user = userMap.get(candidate.getKey());
+                Profile profile = profileMap.get(candidate.getKey());
+                if (user == null
+                        || user.getStatus() != AccountStatus.ACTIVE
+                        || !campusDomain.equalsIgnoreCase(user.getCampusDomain())
+                        || (profile != null && profile.getVisibility() == Visibility.PRIVATE)) {
+                    continue;
+                }
+                UserDto dto = userDtoMapper.toDto(user, profile);
+                ranked.add(new ConnectionSuggestionDto(dto.id(), dto.displayName(), dto.avatarUrl(), candidate.getValue()));
+                if (ranked.size() == MAX_SUGGESTIONS) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(ranked);
+    }
+
+    /**
+     * Friends-of-friends of :userId mapped to the number of :friends they are connected to
+     */
+    private Map<Long, Integer> countMutuals(long userId, long[] friends) {
+        LongStream stream = Arrays.stream(friends);
+        if (friends.length >= PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        return stream.collect(
+                HashMap<Long, Integer>::new,
+                (counts, friend) -> {
+                    for (long candidate : connectionGraph.friendsOf(friend)) {
+                        if (candidate != userId && Arrays.binarySearch(friends, candidate) < 0) {
+                            counts.merge(candidate, 1, Integer::sum);
+                        }
+                    }
+                },
+                (left, right) -> right.forEach((id, count) -> left.merge(id, count, Integer::sum))
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package com.collegebuddy.domain;
 
+import com.collegebuddy.blocking.BlockedUserEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,6 +12,7 @@ import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(BlockedUserEntityListener.class)
 @Table(
         name = "blocked_users",
         uniqueConstraints = @UniqueConstraint(
@@ -1,6 +1,8 @@
 package com.collegebuddy.domain;
 
+import com.collegebuddy.connection.ConnectionEntityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Id;
@@ -13,6 +15,7 @@ import jakarta.persistence.EnumType;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(ConnectionEntityListener.class)
 @Table(
         name = "connections",
         uniqueConstraints = @UniqueConstraint(
@@ -35,6 +35,21 @@ public class Conversation {
     @Column(nullable = false)
     private Instant createdAt;
 
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private Instant lastMessageAt;
+
+    @Column(name = "user_a_unread_count", nullable = false)
+    private long userAUnreadCount = 0;
+
+    @Column(name = "user_b_unread_count", nullable = false)
+    private long userBUnreadCount = 0;
+
     public Conversation() {}
 
     public Long getId() { return id; }
@@ -48,4 +63,19 @@ public class Conversation {
 
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Long getLastMessageId() { return lastMessageId; }
+    public void setLastMessageId(Long lastMessageId) { this.lastMessageId = lastMessageId; }
+
+    public String getLastMessagePreview() { return lastMessagePreview; }
+    public void setLastMessagePreview(String lastMessagePreview) { this.lastMessagePreview = lastMessagePreview; }
+
+    public Instant getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(Instant lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+
+    public long getUserAUnreadCount() { return userAUnreadCount; }
+    public void setUserAUnreadCount(long userAUnreadCount) { this.userAUnreadCount = userAUnreadCount; }
+
+    public long getUserBUnreadCount() { return userBUnreadCount; }
+    public void setUserBUnreadCount(long userBUnreadCount) { this.userBUnreadCount = userBUnreadCount; }
 }
@@ -0,0 +1,7 @@
+package com.collegebuddy.domain;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -1,6 +1,8 @@
 package com.collegebuddy.domain;
 
+import com.collegebuddy.search.DirectoryEntityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
@@ -8,6 +10,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 
 @Entity
+@EntityListeners(DirectoryEntityListener.class)
 @Table(name = "profiles")
 public class Profile {
 
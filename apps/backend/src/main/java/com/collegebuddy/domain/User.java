@@ -1,6 +1,8 @@
 package com.collegebuddy.domain;
 
+import com.collegebuddy.search.DirectoryEntityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
@@ -9,7 +11,10 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 
+import java.time.Instant;
+
 @Entity
+@EntityListeners(DirectoryEntityListener.class)
 @Table(name = "users")
 public class User {
 
@@ -34,6 +39,10 @@ public class User {
     @Column(nullable = false, length = 64)
     private Role role;
 
+    // JWTs issued before this are rejected; see TokenRevocationStore
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     public User() {
     }
 
@@ -84,4 +93,12 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public Instant getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(Instant tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
 }
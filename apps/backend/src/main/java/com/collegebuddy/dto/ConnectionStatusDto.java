@@ -1,8 +1,12 @@
 package com.collegebuddy.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
+// Sections not requested via ?fields= are null and omitted
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ConnectionStatusDto(
         List<UserDto> connections,
         List<ConnectionRequestDto> incomingRequests,
@@ -0,0 +1,8 @@
+package com.collegebuddy.dto;
+
+public record ConnectionSuggestionDto(
+        Long userId,
+        String displayName,
+        String avatarUrl,
+        int mutualConnections
+) {}
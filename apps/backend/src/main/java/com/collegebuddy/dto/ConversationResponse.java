@@ -4,5 +4,6 @@ import java.util.List;
 
 public record ConversationResponse(
         Long conversationId,
-        List<MessageDto> messages
+        List<MessageDto> messages,
+        boolean hasMore
 ) {}
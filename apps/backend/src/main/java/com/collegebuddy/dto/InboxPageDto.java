@@ -0,0 +1,8 @@
+package com.collegebuddy.dto;
+
+import java.util.List;
+
+public record InboxPageDto(
+        List<ConversationListItemDto> conversations,
+        String nextCursor
+) {}
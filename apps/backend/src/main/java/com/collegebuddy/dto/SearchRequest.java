@@ -1,5 +1,11 @@
 package com.collegebuddy.dto;
 
 public record SearchRequest(
-        String query
-) {}
+        String query,
+        Integer page,
+        Integer size
+) {
+    public SearchRequest(String query) {
+        this(query, null, null);
+    }
+}
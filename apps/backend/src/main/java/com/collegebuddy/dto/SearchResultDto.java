@@ -3,8 +3,14 @@ package com.collegebuddy.dto;
 import java.util.List;
 
 public record SearchResultDto(
-        List<UserDto> results
+        List<UserDto> results,
+        int page,
+        boolean hasMore
 ) {
+    public SearchResultDto(List<UserDto> results) {
+        this(results, 0, false);
+    }
+
     public SearchResultDto() {
         this(List.of());
     }
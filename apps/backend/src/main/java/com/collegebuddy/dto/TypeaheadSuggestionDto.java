@@ -0,0 +1,7 @@
+package com.collegebuddy.dto;
+
+public record TypeaheadSuggestionDto(
+        Long id,
+        String displayName,
+        String avatarUrl
+) {}
@@ -0,0 +1,9 @@
+package com.collegebuddy.dto;
+
+import java.util.Map;
+
+public record UnreadBadgeDto(
+        long total,
+        Map<Long, Long> direct,
+        Map<Long, Long> groups
+) {}
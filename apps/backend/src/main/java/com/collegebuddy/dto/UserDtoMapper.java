@@ -3,6 +3,8 @@ package com.collegebuddy.dto;
 import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.domain.Visibility;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -19,13 +21,25 @@ import java.util.stream.Collectors;
 public class UserDtoMapper {
 
     /**
-     * Maps a User and Profile to UserDto.
+     * Maps a User and Profile to UserDto, with the medium avatar rendition.
      *
      * @param user The user entity
      * @param profile The profile entity (may be null)
      * @return UserDto representation
      */
     public UserDto toDto(User user, Profile profile) {
+        return toDto(user, profile, AvatarSize.MEDIUM);
+    }
+
+    /**
+     * Maps a User and Profile to UserDto.
+     *
+     * @param user The user entity
+     * @param profile The profile entity (may be null)
+     * @param avatarSize The avatar rendition the view displays
+     * @return UserDto representation
+     */
+    public UserDto toDto(User user, Profile profile, AvatarSize avatarSize) {
         if (user == null) {
             return null;
         }
@@ -34,7 +48,7 @@ public class UserDtoMapper {
                 ? profile.getDisplayName()
                 : user.getEmail();
 
-        String avatarUrl = (profile != null) ? profile.getAvatarUrl() : null;
+        String avatarUrl = (profile != null) ? AvatarUrls.rendition(profile.getAvatarUrl(), avatarSize) : null;
 
         String visibility = (profile != null && profile.getVisibility() != null)
                 ? profile.getVisibility().name()
@@ -0,0 +1,22 @@
+package com.collegebuddy.email;
+
+/**
+ * Outcome of one message in EmailDeliveryStrategy.sendAll.
+ *
+ * @param message The message that was attempted
+ * @param error   Why it failed, or null if it was sent
+ */
+public record EmailDeliveryResult(EmailMessage message, String error) {
+
+    public static EmailDeliveryResult sent(EmailMessage message) {
+        return new EmailDeliveryResult(message, null);
+    }
+
+    public static EmailDeliveryResult failed(EmailMessage message, String error) {
+        return new EmailDeliveryResult(message, error != null ? error : "Unknown delivery error");
+    }
+
+    public boolean isSent() {
+        return error == null;
+    }
+}
@@ -1,5 +1,8 @@
 package com.collegebuddy.email;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Strategy interface for email delivery implementations.
  * Allows switching between different email providers (SMTP, SendGrid, SES, etc.)
@@ -17,6 +20,27 @@ public interface EmailDeliveryStrategy {
      */
     void send(EmailMessage message);
 
+    /**
+     * Sends several messages. Strategies that hold connections send them over one;
+     * by default each message is sent on its own. A failing message does not stop
+     * the rest.
+     *
+     * @param messages The messages to send
+     * @return One result per message, in the same order
+     */
+    default List<EmailDeliveryResult> sendAll(List<EmailMessage> messages) {
+        List<EmailDeliveryResult> results = new ArrayList<>(messages.size());
+        for (EmailMessage message : messages) {
+            try {
+                send(message);
+                results.add(EmailDeliveryResult.sent(message));
+            } catch (RuntimeException e) {
+                results.add(EmailDeliveryResult.failed(message, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     /**
      * Checks if the email delivery service is available/configured.
      *
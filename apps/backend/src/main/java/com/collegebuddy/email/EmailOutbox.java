@@ -0,0 +1,130 @@
+package com.collegebuddy.email;
+
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.domain.EmailOutboxStatus;
+import com.collegebuddy.domain.OutboxEmail;
+import com.collegebuddy.repo.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional side of the email outbox: queueing, claiming and recording outcomes.
+ * Every method is a short transaction of its own (or joins the caller's, for enqueue);
+ * no transaction is ever open while an SMTP call is in flight.
+ *
+ * Delivery is at-least-once: a node that dies between sending and markSent leaves the
+ * row to be sent again once its claim lease runs out.
+ */
+@Service
+public class EmailOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutbox.class);
+
+    // Longest wait between retries, however many attempts have failed
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository outbox;
+    private final ObjectProvider<EmailOutboxDispatcher> dispatcher;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration claimLease;
+
+    public EmailOutbox(EmailOutboxRepository outbox,
+                       ObjectProvider<EmailOutboxDispatcher> dispatcher,
+                       @Value("${collegebuddy.email.outbox.max-attempts:8}") int maxAttempts,
+                       @Value("${collegebuddy.email.outbox.backoff-ms:30000}") long backoffMs,
+                       @Value("${collegebuddy.email.outbox.claim-lease-ms:300000}") long claimLeaseMs) {
+        this.outbox = outbox;
+        this.dispatcher = dispatcher;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(backoffMs);
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+    }
+
+    /**
+     * Queue an email as part of the current transaction; delivery starts once it commits
+     */
+    @Transactional
+    public void enqueue(EmailMessage message) {
+        Instant now = Instant.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(message.getTo());
+        email.setSubject(message.getSubject());
+        email.setBody(message.getBody());
+        email.setHtml(message.isHtml());
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(now);
+        email.setCreatedAt(now);
+        outbox.save(email);
+
+        AfterCommit.run(() -> dispatcher.ifAvailable(EmailOutboxDispatcher::wakeUp));
+    }
+
+    /**
+     * Take up to :batchSize due emails. Each one counts an attempt and is pushed back by
+     * the claim lease, so other nodes leave it alone while it is being sent.
+     */
+    @Transactional
+    public List<OutboxEmail> claimDue(int batchSize) {
+        Instant now = Instant.now();
+        List<OutboxEmail> due = outbox.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        for (OutboxEmail email : due) {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(claimLease));
+        }
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        Instant now = Instant.now();
+        for (OutboxEmail email : outbox.findAllById(ids)) {
+            email.setStatus(EmailOutboxStatus.SENT);
+            email.setSentAt(now);
+            email.setLastError(null);
+        }
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or give up after the last attempt
+     */
+    @Transactional
+    public void markFailed(Long id, String error) {
+        outbox.findById(id).ifPresent(email -> {
+            email.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.DEAD);
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        id, email.getRecipient(), email.getAttempts(), error);
+            } else {
+                email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+                log.warn("Email {} to {} failed (attempt {}), retrying later: {}",
+                        id, email.getRecipient(), email.getAttempts(), error);
+            }
+        });
+    }
+
+    @Transactional
+    public int purgeSentBefore(Instant cutoff) {
+        return outbox.deleteSentBefore(cutoff);
+    }
+
+    /**
+     * baseBackoff, doubled for every attempt after the first, capped at MAX_BACKOFF
+     */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = baseBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
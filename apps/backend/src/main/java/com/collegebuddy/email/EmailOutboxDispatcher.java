@@ -0,0 +1,183 @@
+package com.collegebuddy.email;
+
+import com.collegebuddy.domain.OutboxEmail;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a small fixed pool, so request threads never wait on SMTP.
+ *
+ * One dispatcher thread claims due emails in batches, splits each batch into one
+ * chunk per worker and waits for all of them before claiming more; a slow relay
+ * therefore backs up in the table, not in memory. Each chunk goes to the strategy's
+ * sendAll, so a pooled strategy sends it over a single connection.
+ *
+ * A drain is triggered right after an email is queued and also on a fixed poll,
+ * which picks up retries and other nodes' leftovers.
+ *
+ * With collegebuddy.email.outbox.enabled=false emails are only queued; drain() can
+ * still be called directly.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutbox outbox;
+    private final EmailDeliveryStrategy deliveryStrategy;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int workerCount;
+    private final Duration retention;
+
+    private final ExecutorService dispatcher;
+    private final ExecutorService workers;
+
+    // Set while a drain is queued but not yet started, so wake-ups coalesce
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public EmailOutboxDispatcher(EmailOutbox outbox,
+                                 EmailDeliveryStrategy deliveryStrategy,
+                                 @Value("${collegebuddy.email.outbox.enabled:true}") boolean enabled,
+                                 @Value("${collegebuddy.email.outbox.workers:4}") int workerCount,
+                                 @Value("${collegebuddy.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${collegebuddy.email.outbox.retention-days:7}") int retentionDays) {
+        this.outbox = outbox;
+        this.deliveryStrategy = deliveryStrategy;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.workerCount = workerCount;
+        this.retention = Duration.ofDays(retentionDays);
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "email-outbox"));
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> daemon(runnable, "email-worker-" + workerIds.incrementAndGet()));
+    }
+
+    /**
+     * Start a drain on the dispatcher thread unless one is already waiting to start
+     */
+    public void wakeUp() {
+        if (!enabled || !drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            // Cleared before draining: a wake-up arriving mid-drain queues one more pass
+            drainQueued.set(false);
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                log.error("Email outbox drain failed", e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${collegebuddy.email.outbox.poll-ms:10000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purgeSent() {
+        int purged = outbox.purgeSentBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} delivered emails from the outbox", purged);
+        }
+    }
+
+    /**
+     * Send everything currently due, one batch at a time.
+     *
+     * @return the number of emails attempted
+     */
+    public int drain() {
+        int attempted = 0;
+        while (true) {
+            List<OutboxEmail> batch = outbox.claimDue(batchSize);
+            if (batch.isEmpty()) {
+                return attempted;
+            }
+
+            int chunkSize = (batch.size() + workerCount - 1) / workerCount;
+            List<Future<?>> sends = new ArrayList<>(workerCount);
+            for (int from = 0; from < batch.size(); from += chunkSize) {
+                List<OutboxEmail> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+                sends.add(workers.submit(() -> deliver(chunk)));
+            }
+            for (Future<?> send : sends) {
+                try {
+                    send.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return attempted;
+                } catch (ExecutionException e) {
+                    log.error("Email worker failed", e.getCause());
+                }
+            }
+            attempted += batch.size();
+
+            if (batch.size() < batchSize) {
+                return attempted;
+            }
+        }
+    }
+
+    private void deliver(List<OutboxEmail> chunk) {
+        List<EmailMessage> messages = chunk.stream()
+                .map(email -> EmailMessage.builder()
+                        .to(email.getRecipient())
+                        .subject(email.getSubject())
+                        .body(email.getBody())
+                        .html(email.isHtml())
+                        .build())
+                .toList();
+
+        List<EmailDeliveryResult> results;
+        try {
+            results = deliveryStrategy.sendAll(messages);
+        } catch (RuntimeException e) {
+            chunk.forEach(email -> outbox.markFailed(email.getId(), e.getMessage()));
+            return;
+        }
+
+        List<Long> sent = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results.get(i).isSent()) {
+                sent.add(chunk.get(i).getId());
+            } else {
+                outbox.markFailed(chunk.get(i).getId(), results.get(i).error());
+            }
+        }
+        outbox.markSent(sent);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdownNow();
+        workers.shutdown();
+        // Unfinished sends keep their claim and are retried once the lease expires
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -6,28 +6,27 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
- * Email service that sends emails using pluggable delivery strategies.
- * Uses Strategy Pattern to switch between different email providers.
- *
- * The actual delivery mechanism (logging, SMTP, SendGrid, etc.) is determined
- * by the configured EmailDeliveryStrategy bean.
+ * Builds the application's emails and queues them in the EmailOutbox.
+ * Queueing joins the caller's transaction, so an email exists exactly when the
+ * token it carries does; EmailOutboxDispatcher delivers it in the background
+ * through the configured EmailDeliveryStrategy (logging, SMTP, etc.).
  */
 @Service
 public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final EmailDeliveryStrategy deliveryStrategy;
+    private final EmailOutbox outbox;
 
     @Value("${collegebuddy.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
-    public EmailService(EmailDeliveryStrategy deliveryStrategy) {
-        this.deliveryStrategy = deliveryStrategy;
+    public EmailService(EmailOutbox outbox) {
+        this.outbox = outbox;
     }
 
     /**
-     * Sends a verification email with a token link.
+     * Queues a verification email with a token link.
      *
      * @param toAddress The recipient email address
      * @param tokenValue The verification token
@@ -42,17 +41,12 @@ public class EmailService {
                 .html(true)
                 .build();
 
-        try {
-            deliveryStrategy.send(message);
-            log.info("Verification email sent to: {}", toAddress);
-        } catch (EmailDeliveryException e) {
-            log.error("Failed to send verification email to: {}", toAddress, e);
-            throw e;
-        }
+        outbox.enqueue(message);
+        log.info("Verification email queued for: {}", toAddress);
     }
 
     /**
-     * Sends a password reset email with a token link.
+     * Queues a password reset email with a token link.
      *
      * @param toAddress The recipient email address
      * @param tokenValue The password reset token
@@ -67,17 +61,12 @@ public class EmailService {
                 .html(true)
                 .build();
 
-        try {
-            deliveryStrategy.send(message);
-            log.info("Password reset email sent to: {}", toAddress);
-        } catch (EmailDeliveryException e) {
-            log.error("Failed to send password reset email to: {}", toAddress, e);
-            throw e;
-        }
+        outbox.enqueue(message);
+        log.info("Password reset email queued for: {}", toAddress);
     }
 
     /**
-     * Sends a notification email.
+     * Queues a notification email.
      *
      * @param toAddress The recipient email address
      * @param body The email body content
@@ -90,13 +79,8 @@ public class EmailService {
                 .html(false)
                 .build();
 
-        try {
-            deliveryStrategy.send(message);
-            log.info("Notification email sent to: {}", toAddress);
-        } catch (EmailDeliveryException e) {
-            log.error("Failed to send notification email to: {}", toAddress, e);
-            throw e;
-        }
+        outbox.enqueue(message);
+        log.info("Notification email queued for: {}", toAddress);
     }
 
     /**
@@ -0,0 +1,222 @@
+package com.collegebuddy.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMTP delivery that keeps authenticated connections open between sends.
+ *
+ * JavaMailSender.send opens a connection, negotiates STARTTLS and authenticates for
+ * every message. This strategy borrows a connected Transport from a small pool, sends
+ * a whole batch over it and returns it, so the handshake is paid once per connection
+ * rather than once per email. Connections are checked with a NOOP when borrowed and
+ * retired after a number of messages or when idle too long, since relays drop both.
+ *
+ * Uses the spring.mail.* settings of the auto-configured JavaMailSenderImpl.
+ * Meters: collegebuddy.email.smtp.messages (result=sent|failed),
+ * collegebuddy.email.smtp.connections (event=opened|reused), collegebuddy.email.smtp.batch.
+ *
+ * Activated when: collegebuddy.email.strategy=smtp-pooled
+ */
+@Component
+@ConditionalOnProperty(name = "collegebuddy.email.strategy", havingValue = "smtp-pooled")
+public class PooledSmtpEmailDeliveryStrategy implements EmailDeliveryStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledSmtpEmailDeliveryStrategy.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final String fromAddress;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+
+    // Connected transports waiting for the next batch; extras beyond capacity are closed
+    private final BlockingQueue<PooledConnection> idle;
+
+    private final Counter messagesSent;
+    private final Counter messagesFailed;
+    private final Counter connectionsOpened;
+    private final Counter connectionsReused;
+    private final Timer batchTimer;
+
+    public PooledSmtpEmailDeliveryStrategy(JavaMailSenderImpl mailSender,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${collegebuddy.email.from:noreply@collegebuddy.app}") String fromAddress,
+                                           @Value("${collegebuddy.email.smtp-pool.max-idle-connections:4}") int maxIdleConnections,
+                                           @Value("${collegebuddy.email.smtp-pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                           @Value("${collegebuddy.email.smtp-pool.max-idle-ms:30000}") long maxIdleMs) {
+        this.mailSender = mailSender;
+        this.fromAddress = fromAddress;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMs);
+        this.idle = new ArrayBlockingQueue<>(maxIdleConnections);
+
+        this.messagesSent = Counter.builder("collegebuddy.email.smtp.messages").tag("result", "sent")
+                .description("Emails accepted by the SMTP relay").register(meterRegistry);
+        this.messagesFailed = Counter.builder("collegebuddy.email.smtp.messages").tag("result", "failed")
+                .description("Emails the SMTP relay did not accept").register(meterRegistry);
+        this.connectionsOpened = Counter.builder("collegebuddy.email.smtp.connections").tag("event", "opened")
+                .description("New SMTP connections (connect, STARTTLS, AUTH)").register(meterRegistry);
+        this.connectionsReused = Counter.builder("collegebuddy.email.smtp.connections").tag("event", "reused")
+                .description("Batches sent over an already open SMTP connection").register(meterRegistry);
+        this.batchTimer = Timer.builder("collegebuddy.email.smtp.batch")
+                .description("Time to send one batch of emails").register(meterRegistry);
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        EmailDeliveryResult result = sendAll(List.of(message)).get(0);
+        if (!result.isSent()) {
+            throw new EmailDeliveryException("Failed to send email: " + result.error());
+        }
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendAll(List<EmailMessage> messages) {
+        return batchTimer.record(() -> sendBatch(messages));
+    }
+
+    private List<EmailDeliveryResult> sendBatch(List<EmailMessage> messages) {
+        List<EmailDeliveryResult> results = new ArrayList<>(messages.size());
+        PooledConnection connection = null;
+        try {
+            for (EmailMessage message : messages) {
+                if (connection == null || connection.messagesSent >= maxMessagesPerConnection) {
+                    close(connection);
+                    connection = null;
+                    try {
+                        connection = borrow();
+                    } catch (MessagingException e) {
+                        // Relay unreachable: everything left in the batch fails and is retried later
+                        log.error("Could not open SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort(), e);
+                        for (int i = results.size(); i < messages.size(); i++) {
+                            results.add(failed(messages.get(i), e));
+                        }
+                        return results;
+                    }
+                }
+
+                try {
+                    MimeMessage mimeMessage = toMimeMessage(message);
+                    connection.transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                    connection.messagesSent++;
+                    messagesSent.increment();
+                    results.add(EmailDeliveryResult.sent(message));
+                } catch (SendFailedException e) {
+                    // Recipient rejected; the session itself is still good
+                    log.error("SMTP relay rejected email to: {}", message.getTo(), e);
+                    results.add(failed(message, e));
+                } catch (MessagingException e) {
+                    log.error("Failed to send email to: {}", message.getTo(), e);
+                    results.add(failed(message, e));
+                    close(connection);
+                    connection = null;
+                }
+            }
+            return results;
+        } finally {
+            release(connection);
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return mailSender != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            close(connection);
+        }
+    }
+
+    private PooledConnection borrow() throws MessagingException {
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            // isConnected() sends a NOOP, which also catches connections the relay dropped
+            if (System.nanoTime() - connection.lastUsedNanos < maxIdleNanos && connection.transport.isConnected()) {
+                connectionsReused.increment();
+                return connection;
+            }
+            close(connection);
+        }
+
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connectionsOpened.increment();
+        return new PooledConnection(transport);
+    }
+
+    private void release(PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        connection.lastUsedNanos = System.nanoTime();
+        if (connection.messagesSent >= maxMessagesPerConnection || !idle.offer(connection)) {
+            close(connection);
+        }
+    }
+
+    private void close(PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection", e);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+        helper.setFrom(fromAddress);
+        helper.setTo(message.getTo());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), message.isHtml());
+        mimeMessage.setSentDate(new Date());
+
+        // Transport.sendMessage, unlike Transport.send, does not finalize headers itself
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+
+    private EmailDeliveryResult failed(EmailMessage message, MessagingException e) {
+        messagesFailed.increment();
+        return EmailDeliveryResult.failed(message, e.getMessage());
+    }
+
+    private static final class PooledConnection {
+
+        final Transport transport;
+        int messagesSent;
+        long lastUsedNanos = System.nanoTime();
+
+        PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.collegebuddy.eventbus;
+
+import java.util.function.Consumer;
+
+/**
+ * Strategy interface for broadcasting small string payloads to every backend node.
+ * Used to fan out realtime events so a message saved on one node reaches
+ * sockets held by another.
+ *
+ * Delivery is at-most-once and best effort: subscribers on every node, including
+ * the publishing one, receive each payload published while they are connected.
+ * Events can be lost (a full outbox, a dropped connection), so state kept in sync
+ * over the bus must also be reconciled from the database now and then.
+ */
+public interface EventBus {
+
+    /**
+     * Publishes a payload to all subscribers of a channel on every node.
+     *
+     * @param channel lowercase identifier, e.g. "realtime"
+     * @param payload opaque payload, typically JSON
+     */
+    void publish(String channel, String payload);
+
+    /**
+     * Publishes a payload to subscribers on every node except this one. For caches
+     * that apply a change locally (synchronously) and only need to tell their peers.
+     */
+    void publishToPeers(String channel, String payload);
+
+    /**
+     * Registers a listener for a channel on this node.
+     * Listeners are invoked on a bus thread and must not block for long.
+     */
+    void subscribe(String channel, Consumer<String> listener);
+
+    /**
+     * Channel names double as PostgreSQL identifiers, so keep them simple
+     */
+    static String requireValidChannel(String channel) {
+        if (channel == null || !channel.matches("[a-z][a-z0-9_]{0,40}")) {
+            throw new IllegalArgumentException("Invalid event bus channel: " + channel);
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,53 @@
+package com.collegebuddy.eventbus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * EventBus that only reaches listeners in this JVM.
+ * Suitable for tests and single-node deployments.
+ *
+ * Activated when: collegebuddy.realtime.bus=in-process (or not set)
+ */
+@Component
+@ConditionalOnProperty(
+        name = "collegebuddy.realtime.bus",
+        havingValue = "in-process",
+        matchIfMissing = true
+)
+public class InProcessEventBus implements EventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessEventBus.class);
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String payload) {
+        for (Consumer<String> listener : listeners.getOrDefault(EventBus.requireValidChannel(channel), List.of())) {
+            try {
+                listener.accept(payload);
+            } catch (Exception e) {
+                log.warn("Event bus listener on channel {} failed", channel, e);
+            }
+        }
+    }
+
+    @Override
+    public void publishToPeers(String channel, String payload) {
+        EventBus.requireValidChannel(channel); // there are no peers
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(EventBus.requireValidChannel(channel), c -> new CopyOnWriteArrayList<>())
+                .add(listener);
+    }
+}
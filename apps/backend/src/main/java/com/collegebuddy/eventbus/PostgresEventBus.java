@@ -0,0 +1,361 @@
+package com.collegebuddy.eventbus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * EventBus on PostgreSQL LISTEN/NOTIFY, so every backend node sharing the database
+ * sees every event.
+ *
+ * Publishing is asynchronous: payloads are queued and a flusher thread packs
+ * everything queued for a channel into as few NOTIFYs as fit under PostgreSQL's
+ * 8000 byte payload limit, so a burst of sends costs a handful of round trips.
+ * A single payload too large for NOTIFY is written to event_bus_overflow and the
+ * notification carries its row id instead.
+ *
+ * A dedicated connection (outside the Hikari pool) holds the LISTENs and is
+ * re-established with backoff if it drops; events published while it is down
+ * are not redelivered. The listener thread only reads notifications; decoding,
+ * overflow lookups and subscriber callbacks run on a separate dispatch thread
+ * (one, so events keep their order), so a slow subscriber cannot stall the socket.
+ *
+ * Events that are knowingly lost (outbox or dispatch queue full, a failed flush,
+ * a purged overflow row)
+ * are logged and counted as collegebuddy.eventbus.dropped{channel, stage}; a
+ * non-zero rate means subscribers are relying on their periodic reconcile.
+ * Peer-only events carry this node's id and are skipped by its own dispatcher.
+ *
+ * Activated when: collegebuddy.realtime.bus=postgres
+ */
+@Component
+@ConditionalOnProperty(
+        name = "collegebuddy.realtime.bus",
+        havingValue = "postgres"
+)
+public class PostgresEventBus implements EventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresEventBus.class);
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_NOTIFY_BYTES = 7900;
+    private static final int MAX_BATCH = 500;
+    private static final int OUTBOX_CAPACITY = 10_000;
+    private static final int DISPATCH_CAPACITY = 10_000;
+    private static final String CHANNEL_PREFIX = "cb_";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long lingerMs;
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private final BlockingQueue<Pending> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(DISPATCH_CAPACITY),
+            Thread.ofPlatform().daemon().name("event-bus-dispatch").factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    private volatile boolean running;
+    private Thread flusherThread;
+    private Thread listenerThread;
+
+    public PostgresEventBus(JdbcTemplate jdbc,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.datasource.url}") String url,
+                            @Value("${spring.datasource.username}") String username,
+                            @Value("${spring.datasource.password}") String password,
+                            @Value("${collegebuddy.realtime.bus-linger-ms:5}") long lingerMs) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.lingerMs = lingerMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusherThread = Thread.ofPlatform().daemon().name("event-bus-flusher").start(this::flushLoop);
+        listenerThread = Thread.ofPlatform().daemon().name("event-bus-listener").start(this::listenLoop);
+        log.info("PostgreSQL event bus started");
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusherThread.interrupt();
+        listenerThread.interrupt();
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public void publish(String channel, String payload) {
+        enqueue(new Pending(EventBus.requireValidChannel(channel), payload, false));
+    }
+
+    @Override
+    public void publishToPeers(String channel, String payload) {
+        enqueue(new Pending(EventBus.requireValidChannel(channel), payload, true));
+    }
+
+    private void enqueue(Pending pending) {
+        if (!outbox.offer(pending)) {
+            dropped(pending.channel(), "outbox", 1);
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(EventBus.requireValidChannel(channel), c -> new CopyOnWriteArrayList<>())
+                .add(listener);
+        // The listener thread picks up new channels on its next poll
+    }
+
+    /**
+     * Overflow rows only need to outlive delivery
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeOverflow() {
+        jdbc.update("DELETE FROM event_bus_overflow WHERE created_at < NOW() - INTERVAL '5 minutes'");
+    }
+
+    // ---- publishing ----
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Pending first = outbox.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst a moment to accumulate so it shares NOTIFYs
+                if (lingerMs > 0 && outbox.isEmpty()) {
+                    Thread.sleep(lingerMs);
+                }
+                outbox.drainTo(batch, MAX_BATCH - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to flush {} event bus payloads", batch.size(), e);
+                batch.forEach(pending -> dropped(pending.channel(), "flush", 1));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        Map<String, List<Pending>> byChannel = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            byChannel.computeIfAbsent(pending.channel(), c -> new ArrayList<>()).add(pending);
+        }
+
+        for (Map.Entry<String, List<Pending>> entry : byChannel.entrySet()) {
+            String channel = entry.getKey();
+            StringBuilder frame = new StringBuilder("[");
+            int frameBytes = 2; // brackets
+
+            for (Pending pending : entry.getValue()) {
+                String element = encode(channel, pending);
+                int elementBytes = element.getBytes(StandardCharsets.UTF_8).length + 1; // comma
+                if (frameBytes + elementBytes > MAX_NOTIFY_BYTES && frame.length() > 1) {
+                    pgNotify(channel, frame.append(']').toString());
+                    frame.setLength(1);
+                    frameBytes = 2;
+                }
+                if (frame.length() > 1) {
+                    frame.append(',');
+                }
+                frame.append(element);
+                frameBytes += elementBytes;
+            }
+            if (frame.length() > 1) {
+                pgNotify(channel, frame.append(']').toString());
+            }
+        }
+    }
+
+    /**
+     * Each frame element is {"p": payload} or, when that would not fit, {"ref": overflowId};
+     * peer-only elements add {"skip": originNodeId}
+     */
+    private String encode(String channel, Pending pending) {
+        ObjectNode element = objectMapper.createObjectNode().put("p", pending.payload());
+        if (pending.peersOnly()) {
+            element.put("skip", nodeId);
+        }
+        String inline = element.toString();
+        if (inline.getBytes(StandardCharsets.UTF_8).length + 2 <= MAX_NOTIFY_BYTES) {
+            return inline;
+        }
+        Long id = jdbc.queryForObject(
+                "INSERT INTO event_bus_overflow (channel, payload) VALUES (?, ?) RETURNING id",
+                Long.class, channel, pending.payload());
+        element.remove("p");
+        return element.put("ref", id).toString();
+    }
+
+    private void pgNotify(String channel, String frame) {
+        jdbc.queryForList("SELECT pg_notify(?, ?)", CHANNEL_PREFIX + channel, frame);
+    }
+
+    // ---- listening ----
+
+    private void listenLoop() {
+        long backoffMs = 500;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                Set<String> listening = new HashSet<>();
+                backoffMs = 500;
+
+                while (running) {
+                    for (String channel : listeners.keySet()) {
+                        if (listening.add(channel)) {
+                            try (Statement statement = connection.createStatement()) {
+                                statement.execute("LISTEN " + CHANNEL_PREFIX + channel);
+                            }
+                        }
+                    }
+
+                    PGNotification[] notifications = pg.getNotifications(500);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            submitDispatch(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Event bus listener connection lost, reconnecting in {} ms", backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+
+    private void submitDispatch(PGNotification notification) {
+        String channel = notification.getName().substring(CHANNEL_PREFIX.length());
+        String frame = notification.getParameter();
+        try {
+            dispatcher.execute(() -> dispatch(channel, frame));
+        } catch (RejectedExecutionException e) {
+            // A frame holds an unknown number of events; count the frame
+            dropped(channel, "dispatch", 1);
+        }
+    }
+
+    private void dispatch(String channel, String rawFrame) {
+        List<Consumer<String>> channelListeners = listeners.get(channel);
+        if (channelListeners == null) {
+            return;
+        }
+
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(rawFrame);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed event bus frame on channel {}", channel, e);
+            return;
+        }
+
+        for (JsonNode element : frame) {
+            if (nodeId.equals(element.path("skip").asText(null))) {
+                continue; // peer-only event from this node
+            }
+            String payload = element.has("ref")
+                    ? loadOverflow(element.get("ref").asLong())
+                    : element.path("p").asText(null);
+            if (payload == null) {
+                dropped(channel, "overflow", 1);
+                continue;
+            }
+            for (Consumer<String> listener : channelListeners) {
+                try {
+                    listener.accept(payload);
+                } catch (Exception e) {
+                    log.warn("Event bus listener on channel {} failed", channel, e);
+                }
+            }
+        }
+    }
+
+    private String loadOverflow(long id) {
+        List<String> rows = jdbc.queryForList(
+                "SELECT payload FROM event_bus_overflow WHERE id = ?", String.class, id);
+        if (rows.isEmpty()) {
+            log.warn("Event bus overflow payload {} already purged", id);
+            return null;
+        }
+        return rows.get(0);
+    }
+
+    private void dropped(String channel, String stage, int count) {
+        log.error("Event bus dropped {} event(s) on channel {} ({}); subscribers stay stale until they reconcile",
+                count, channel, stage);
+        Counter.builder("collegebuddy.eventbus.dropped")
+                .tag("channel", channel)
+                .tag("stage", stage)
+                .description("Event bus events lost before delivery")
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private record Pending(String channel, String payload, boolean peersOnly) {}
+}
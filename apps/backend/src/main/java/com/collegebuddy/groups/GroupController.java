@@ -124,15 +124,20 @@ public class GroupController {
     }
 
     /**
-     * GET /groups/{groupId}/messages
-     * Get all messages in a group
+     * GET /groups/{groupId}/messages?before=&after=&limit=
+     * Get a page of group messages, newest page by default, oldest first within the page
      */
     @GetMapping("/{groupId}/messages")
-    public ResponseEntity<List<GroupMessageDto>> getGroupMessages(@PathVariable Long groupId) {
+    public ResponseEntity<List<GroupMessageDto>> getGroupMessages(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
         AuthenticatedUser auth = SecurityUtils.getCurrentUser();
         log.info("GET /groups/{}/messages - User: {}", groupId, auth.id());
 
-        List<GroupMessageDto> messages = groupService.getGroupMessages(auth.id(), groupId);
+        List<GroupMessageDto> messages = groupService.getGroupMessages(auth.id(), groupId, before, after, limit);
         return ResponseEntity.ok(messages);
     }
 
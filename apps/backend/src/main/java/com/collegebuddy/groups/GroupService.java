@@ -8,19 +8,29 @@ import com.collegebuddy.domain.GroupMember;
 import com.collegebuddy.domain.GroupMessage;
 import com.collegebuddy.domain.GroupRole;
 import com.collegebuddy.domain.Profile;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
+import com.collegebuddy.realtime.GroupMessageEvent;
+import com.collegebuddy.realtime.RealtimeEvent;
+import com.collegebuddy.realtime.UnreadCountEvent;
 import com.collegebuddy.repo.GroupMemberRepository;
 import com.collegebuddy.repo.GroupMessageRepository;
 import com.collegebuddy.repo.GroupRepository;
 import com.collegebuddy.repo.ProfileRepository;
 import com.collegebuddy.repo.UserRepository;
+import com.collegebuddy.unread.UnreadCounterStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,22 +42,30 @@ public class GroupService {
 
     private static final Logger log = LoggerFactory.getLogger(GroupService.class);
 
+    private static final int MAX_MESSAGE_PAGE_SIZE = 200;
+
     private final GroupRepository groups;
     private final GroupMemberRepository groupMembers;
     private final GroupMessageRepository groupMessages;
     private final UserRepository users;
     private final ProfileRepository profiles;
+    private final ApplicationEventPublisher events;
+    private final UnreadCounterStore unreadCounters;
 
     public GroupService(GroupRepository groups,
                         GroupMemberRepository groupMembers,
                         GroupMessageRepository groupMessages,
                         UserRepository users,
-                        ProfileRepository profiles) {
+                        ProfileRepository profiles,
+                        ApplicationEventPublisher events,
+                        UnreadCounterStore unreadCounters) {
         this.groups = groups;
         this.groupMembers = groupMembers;
         this.groupMessages = groupMessages;
         this.users = users;
         this.profiles = profiles;
+        this.events = events;
+        this.unreadCounters = unreadCounters;
     }
 
     @Transactional
@@ -174,7 +192,7 @@ public class GroupService {
                     return new GroupMemberDto(
                             m.getUserId(),
                             p != null ? p.getDisplayName() : "Unknown",
-                            p != null ? p.getAvatarUrl() : null,
+                            p != null ? AvatarUrls.rendition(p.getAvatarUrl(), AvatarSize.SMALL) : null,
                             m.getRole(),
                             m.getJoinedAt()
                     );
@@ -207,6 +225,7 @@ public class GroupService {
         member.setJoinedAt(Instant.now());
 
         groupMembers.save(member);
+        unreadCounters.invalidate(userId);
     }
 
     @Transactional
@@ -230,6 +249,7 @@ public class GroupService {
         }
 
         groupMembers.deleteByGroupIdAndUserId(groupId, userId);
+        unreadCounters.invalidate(userId);
     }
 
     private GroupDto toGroupDto(Group group, Set<Long> userGroupIds, Set<Long> adminGroupIds, Map<Long, Long> unreadCounts) {
@@ -259,9 +279,13 @@ public class GroupService {
     }
 
     @Transactional(readOnly = true)
-    public List<GroupMessageDto> getGroupMessages(Long userId, Long groupId) {
+    public List<GroupMessageDto> getGroupMessages(Long userId, Long groupId, Long before, Long after, int limit) {
         log.info("Getting messages for group {} by user {}", groupId, userId);
 
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Only one of before or after may be specified");
+        }
+
         // Verify group exists
         Group group = groups.findById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found"));
@@ -271,15 +295,32 @@ public class GroupService {
             throw new UnauthorizedException("You must be a member to view group messages");
         }
 
-        // Get all messages
-        List<GroupMessage> messages = groupMessages.findByGroupIdOrderBySentAtAsc(groupId);
+        // Message ids are monotonic, so (group_id, id) is the keyset
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE_SIZE)));
+        List<GroupMessage> messages;
+        if (after != null) {
+            messages = groupMessages.findPageAfter(groupId, after, page);
+        } else {
+            messages = new ArrayList<>(before != null
+                    ? groupMessages.findPageBefore(groupId, before, page)
+                    : groupMessages.findLatest(groupId, page));
+            // Newest-first pages are reversed so the client always renders oldest first
+            Collections.reverse(messages);
+        }
+
+        // Resolve every sender on the page in one query
+        Set<Long> senderIds = messages.stream()
+                .map(GroupMessage::getSenderId)
+                .collect(Collectors.toSet());
+        Map<Long, Profile> senderProfiles = profiles.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(Profile::getUserId, p -> p));
 
         // Convert to DTOs with sender info
         return messages.stream()
                 .map(msg -> {
-                    Profile senderProfile = profiles.findById(msg.getSenderId()).orElse(null);
+                    Profile senderProfile = senderProfiles.get(msg.getSenderId());
                     String senderName = senderProfile != null ? senderProfile.getDisplayName() : "Unknown";
-                    String senderAvatar = senderProfile != null ? senderProfile.getAvatarUrl() : null;
+                    String senderAvatar = senderProfile != null ? AvatarUrls.rendition(senderProfile.getAvatarUrl(), AvatarSize.SMALL) : null;
 
                     return new GroupMessageDto(
                             msg.getId(),
@@ -318,9 +359,9 @@ public class GroupService {
         // Get sender profile
         Profile senderProfile = profiles.findById(userId).orElse(null);
         String senderName = senderProfile != null ? senderProfile.getDisplayName() : "Unknown";
-        String senderAvatar = senderProfile != null ? senderProfile.getAvatarUrl() : null;
+        String senderAvatar = senderProfile != null ? AvatarUrls.rendition(senderProfile.getAvatarUrl(), AvatarSize.SMALL) : null;
 
-        return new GroupMessageDto(
+        GroupMessageDto dto = new GroupMessageDto(
                 message.getId(),
                 message.getSenderId(),
                 senderName,
@@ -328,6 +369,12 @@ public class GroupService {
                 message.getBody(),
                 message.getSentAt()
         );
+
+        // Members bump their own unread badge from this event
+        events.publishEvent(new RealtimeEvent(groupMembers.findUserIdsByGroupId(groupId),
+                RealtimeEvent.GROUP_MESSAGE, new GroupMessageEvent(groupId, dto)));
+
+        return dto;
     }
 
     /**
@@ -336,26 +383,7 @@ public class GroupService {
      */
     @Transactional(readOnly = true)
     public Map<Long, Long> getUnreadCountsForUserGroups(Long userId) {
-        log.info("Getting unread counts for user {}", userId);
-
-        // Get all groups user is a member of
-        List<GroupMember> memberships = groupMembers.findByUserId(userId);
-
-        Map<Long, Long> unreadCounts = new java.util.HashMap<>();
-
-        for (GroupMember membership : memberships) {
-            long count = groupMessages.countUnreadMessagesInGroup(
-                    membership.getGroupId(),
-                    userId,
-                    membership.getLastReadMessageId()
-            );
-
-            if (count > 0) {
-                unreadCounts.put(membership.getGroupId(), count);
-            }
-        }
-
-        return unreadCounts;
+        return unreadCounters.getGroupCounts(userId);
     }
 
     /**
@@ -377,5 +405,8 @@ public class GroupService {
             membership.setLastReadMessageId(latestMessageId.get());
             groupMembers.save(membership);
         }
+
+        events.publishEvent(new RealtimeEvent(List.of(userId), RealtimeEvent.UNREAD,
+                new UnreadCountEvent(UnreadCountEvent.GROUP, groupId, 0)));
     }
 }
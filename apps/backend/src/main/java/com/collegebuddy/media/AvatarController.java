@@ -0,0 +1,31 @@
+package com.collegebuddy.media;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Public avatar files (originals and renditions); see AvatarFileServer.
+ */
+@RestController
+@RequestMapping("/uploads/avatars")
+public class AvatarController {
+
+    private final AvatarFileServer avatarFiles;
+
+    public AvatarController(AvatarFileServer avatarFiles) {
+        this.avatarFiles = avatarFiles;
+    }
+
+    @GetMapping("/{filename:.+}")
+    public void getAvatar(@PathVariable String filename,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        avatarFiles.serve(filename, request, response);
+    }
+}
@@ -0,0 +1,313 @@
+package com.collegebuddy.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Serves files under /uploads/avatars/ without copying them through the heap. Files
+ * come from MediaStorageStrategy.localFile: the upload directory, or the local disk
+ * cache in front of object storage.
+ *
+ * Small files (renditions, mostly) are kept in a size-bounded cache of read-only
+ * direct buffers. Caffeine's admission policy keeps the most requested ones, so a
+ * long tail of one-off originals does not push out the 48px renditions every list
+ * page asks for. Larger files are handed to Tomcat's sendfile (FileChannel.transferTo
+ * straight to the socket); where that is unavailable they are streamed from a
+ * FileChannel.
+ *
+ * File names are content hashes, so responses are immutable with the name as a
+ * strong ETag. If-None-Match and single byte ranges (with If-Range) are honored. A
+ * missing rendition falls back to the original, marked no-cache so clients pick up
+ * the rendition once it exists.
+ *
+ * Meters: cache.gets/cache.size etc. (cache=avatar-files) for the hit ratio;
+ * collegebuddy.avatar.cache.bytes, bytes held; collegebuddy.avatar.bytes
+ * (source=cache|sendfile|stream), body bytes served.
+ */
+@Component
+public class AvatarFileServer {
+
+    private static final Pattern FILENAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]+)+");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp"
+    );
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+            .getHeaderValue();
+
+    // Tomcat's sendfile contract: the connector streams the file once the servlet returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private record ByteRange(long start, long end) {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    private final MediaStorageStrategy storageStrategy;
+    private final long maxEntryBytes;
+    private final Cache<String, ByteBuffer> hotFiles;
+
+    private final Counter cacheBytes;
+    private final Counter sendfileBytes;
+    private final Counter streamBytes;
+
+    public AvatarFileServer(MeterRegistry meterRegistry,
+                            MediaStorageStrategy storageStrategy,
+                            @Value("${collegebuddy.storage.avatar-cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${collegebuddy.storage.avatar-cache.max-entry-bytes:262144}") long maxEntryBytes) {
+        this.storageStrategy = storageStrategy;
+        this.maxEntryBytes = maxEntryBytes;
+        this.hotFiles = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String name, ByteBuffer bytes) -> bytes.capacity())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, hotFiles, "avatar-files");
+        Gauge.builder("collegebuddy.avatar.cache.bytes", hotFiles,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes of avatar files held in the hot-file cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.cacheBytes = bytesServed(meterRegistry, "cache");
+        this.sendfileBytes = bytesServed(meterRegistry, "sendfile");
+        this.streamBytes = bytesServed(meterRegistry, "stream");
+    }
+
+    public void serve(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = resolve(filename);
+        boolean pending = false;
+        if (path == null) {
+            // Rendition not generated (yet): serve the original in its place
+            String original = AvatarUrls.original(AvatarUrls.PREFIX + filename).substring(AvatarUrls.PREFIX.length());
+            path = original.equals(filename) ? null : resolve(original);
+            pending = true;
+        }
+        if (path == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String name = path.getFileName().toString();
+        String etag = "\"" + name + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, pending ? "no-cache" : IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(path);
+        ByteRange range = rangeFor(request, etag, length);
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + length);
+        } else {
+            range = new ByteRange(0, length - 1);
+        }
+        response.setContentType(contentType(name));
+        response.setContentLengthLong(range.length());
+        if ("HEAD".equals(request.getMethod()) || range.length() <= 0) {
+            return;
+        }
+
+        if (length <= maxEntryBytes) {
+            writeCached(name, path, range, response);
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            sendfileBytes.increment(range.length());
+        } else {
+            writeStreamed(path, range, response);
+        }
+    }
+
+    /**
+     * Drop a deleted file and its renditions from the hot-file cache
+     */
+    public void evict(String fileUrl) {
+        String original = AvatarUrls.original(fileUrl);
+        String filename = original.substring(original.lastIndexOf('/') + 1);
+        hotFiles.invalidate(filename);
+        for (AvatarSize size : AvatarSize.values()) {
+            hotFiles.invalidate(AvatarUrls.renditionFilename(filename, size));
+        }
+    }
+
+    private void writeCached(String name, Path path, ByteRange range, HttpServletResponse response)
+            throws IOException {
+        ByteBuffer file;
+        try {
+            file = hotFiles.get(name, key -> load(path));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        ByteBuffer body = file.duplicate();
+        body.position((int) range.start()).limit((int) range.end() + 1);
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            out.write(body);
+        }
+        cacheBytes.increment(range.length());
+    }
+
+    private void writeStreamed(Path path, ByteRange range, HttpServletResponse response) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // file shrank underneath us
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        streamBytes.increment(range.length());
+    }
+
+    private static ByteBuffer load(Path path) {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) file.size());
+            while (buffer.hasRemaining() && file.read(buffer) >= 0) {
+                // keep reading
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The local file for :filename, or null if it is not a servable name or is not stored
+     */
+    private Path resolve(String filename) {
+        if (filename == null || !FILENAME.matcher(filename).matches()
+                || !CONTENT_TYPES.containsKey(extension(filename))) {
+            return null;
+        }
+        return storageStrategy.localFile(AvatarUrls.PREFIX + filename).orElse(null);
+    }
+
+    /**
+     * The single range requested, null to send the whole file, or UNSATISFIABLE.
+     * Multiple ranges are answered with the whole file, which RFC 9110 allows.
+     */
+    private static ByteRange rangeFor(HttpServletRequest request, String etag, long length) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null; // the client's partial copy is of something else
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (spec.contains(",") || dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = last.isEmpty() ? -1 : Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return suffix < 0 ? null : ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (end < start) {
+                return null; // invalid, ignored
+            }
+            if (start >= length) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String contentType(String filename) {
+        return CONTENT_TYPES.getOrDefault(extension(filename), "application/octet-stream");
+    }
+
+    private static String extension(String filename) {
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter bytesServed(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("collegebuddy.avatar.bytes")
+                .tag("source", source)
+                .description("Avatar body bytes served")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,159 @@
+package com.collegebuddy.media;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Turns an uploaded avatar into square JPEG renditions, one per AvatarSize.
+ *
+ * The upload is decoded once: only its centered square is read, subsampled on the
+ * fly to about twice the largest rendition, so a 12 MP photo never becomes a full
+ * 12 MP bitmap. EXIF orientation is applied, transparency is flattened onto white,
+ * and each smaller size is scaled from the previous one. The output carries no
+ * metadata (no EXIF, GPS or camera data).
+ */
+public class AvatarImageProcessor {
+
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+
+    private final float jpegQuality;
+
+    public AvatarImageProcessor(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * @throws IOException if the image cannot be decoded (unsupported format, corrupt or too large)
+     */
+    public Map<AvatarSize, byte[]> render(byte[] source) throws IOException {
+        BufferedImage square = orient(decodeSquare(source), ExifOrientation.read(source));
+
+        Map<AvatarSize, byte[]> renditions = new EnumMap<>(AvatarSize.class);
+        BufferedImage current = square;
+        AvatarSize[] sizes = AvatarSize.values();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            current = scaleDown(current, sizes[i].getPixels());
+            renditions.put(sizes[i], encodeJpeg(current));
+        }
+        return renditions;
+    }
+
+    private static BufferedImage decodeSquare(byte[] source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large: " + width + "x" + height);
+                }
+
+                int side = Math.min(width, height);
+                int step = Math.max(1, side / (2 * largestSize()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Also flattens any alpha channel onto white, since JPEG has none
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage out = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, side, side);
+            g.drawImage(image, orientationTransform(orientation, side), null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static AffineTransform orientationTransform(int orientation, int side) {
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { t.translate(side, 0); t.scale(-1, 1); }
+            case 3 -> { t.translate(side, side); t.quadrantRotate(2); }
+            case 4 -> { t.translate(0, side); t.scale(1, -1); }
+            case 5 -> t.setTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> { t.translate(side, 0); t.quadrantRotate(1); }
+            case 7 -> t.setTransform(0, -1, -1, 0, side, side);
+            case 8 -> { t.translate(0, side); t.quadrantRotate(3); }
+            default -> { }
+        }
+        return t;
+    }
+
+    // Halves repeatedly, then one final step; a single bilinear jump from a large image aliases badly
+    private static BufferedImage scaleDown(BufferedImage image, int target) {
+        BufferedImage current = image;
+        int side = current.getWidth();
+        while (side > target) {
+            int next = Math.max(target, side / 2);
+            BufferedImage scaled = new BufferedImage(next, next, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaled.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, next, next, null);
+            } finally {
+                g.dispose();
+            }
+            current = scaled;
+            side = next;
+        }
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int largestSize() {
+        int largest = 0;
+        for (AvatarSize size : AvatarSize.values()) {
+            largest = Math.max(largest, size.getPixels());
+        }
+        return largest;
+    }
+}
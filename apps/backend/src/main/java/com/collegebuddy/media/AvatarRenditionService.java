@@ -0,0 +1,86 @@
+package com.collegebuddy.media;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates avatar renditions in the background, so an upload returns as soon as the
+ * original is stored.
+ *
+ * Work runs on a small fixed pool with a bounded queue. Queued jobs hold only the
+ * URL; the original is read back from storage when its turn comes, so only images
+ * being worked on are in memory. If the queue is full or the image cannot be
+ * decoded, no renditions are written and rendition URLs keep falling back to the
+ * original.
+ */
+@Component
+public class AvatarRenditionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvatarRenditionService.class);
+
+    private final MediaStorageStrategy storageStrategy;
+    private final AvatarImageProcessor processor;
+    private final ThreadPoolExecutor executor;
+
+    public AvatarRenditionService(MediaStorageStrategy storageStrategy,
+                                  @Value("${collegebuddy.storage.avatar-renditions.workers:1}") int workers,
+                                  @Value("${collegebuddy.storage.avatar-renditions.queue-capacity:16}") int queueCapacity,
+                                  @Value("${collegebuddy.storage.avatar-renditions.jpeg-quality:0.82}") float jpegQuality) {
+        this.storageStrategy = storageStrategy;
+        this.processor = new AvatarImageProcessor(jpegQuality);
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "avatar-renditions-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queue rendition generation for the avatar stored at :avatarUrl
+     */
+    public void submit(String avatarUrl) {
+        try {
+            executor.execute(() -> generate(avatarUrl));
+        } catch (RejectedExecutionException e) {
+            log.warn("Avatar rendition queue full, serving original only for {}", avatarUrl);
+        }
+    }
+
+    void generate(String avatarUrl) {
+        long start = System.nanoTime();
+        try {
+            byte[] image;
+            try (InputStream in = storageStrategy.open(avatarUrl)) {
+                image = in.readAllBytes();
+            }
+            Map<AvatarSize, byte[]> renditions = processor.render(image);
+            renditions.forEach((size, bytes) -> storageStrategy.storeRendition(avatarUrl, size, bytes));
+            log.info("Generated {} avatar renditions for {} in {} ms", renditions.size(), avatarUrl,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate avatar renditions for {}: {}", avatarUrl, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
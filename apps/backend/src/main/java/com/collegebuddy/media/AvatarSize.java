@@ -0,0 +1,23 @@
+package com.collegebuddy.media;
+
+/**
+ * Square renditions generated for every uploaded avatar.
+ *
+ * SMALL is for list rows (inbox, members, search, typeahead), MEDIUM for cards and the
+ * signed-in user, LARGE for the profile page.
+ */
+public enum AvatarSize {
+    SMALL(48),
+    MEDIUM(128),
+    LARGE(512);
+
+    private final int pixels;
+
+    AvatarSize(int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int getPixels() {
+        return pixels;
+    }
+}
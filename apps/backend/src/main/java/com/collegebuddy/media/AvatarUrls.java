@@ -0,0 +1,63 @@
+package com.collegebuddy.media;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps between an uploaded avatar's URL and the URLs of its renditions.
+ *
+ * A rendition of "/uploads/avatars/5_abc.png" at 128px is "/uploads/avatars/5_abc.png.128.jpg",
+ * so any view can derive it without a lookup. Renditions are written asynchronously after the
+ * upload; until then (and for avatars uploaded before renditions existed) the resource handler
+ * falls back to the original. URLs that are not local uploads are returned unchanged.
+ */
+public final class AvatarUrls {
+
+    public static final String PREFIX = "/uploads/avatars/";
+
+    private static final Pattern RENDITION = Pattern.compile("^(.+)\\.(\\d+)\\.jpg$");
+
+    private AvatarUrls() {
+    }
+
+    /**
+     * URL of the :size rendition of :avatarUrl, or :avatarUrl itself if it is not a local upload
+     */
+    public static String rendition(String avatarUrl, AvatarSize size) {
+        if (!isLocalUpload(avatarUrl)) {
+            return avatarUrl;
+        }
+        return original(avatarUrl) + "." + size.getPixels() + ".jpg";
+    }
+
+    /**
+     * The uploaded original behind :url, which may itself be a rendition URL
+     */
+    public static String original(String url) {
+        if (!isLocalUpload(url)) {
+            return url;
+        }
+        Matcher matcher = RENDITION.matcher(url);
+        return matcher.matches() && isRenditionSize(matcher.group(2)) ? matcher.group(1) : url;
+    }
+
+    /**
+     * File name of the :size rendition of the uploaded file :filename
+     */
+    public static String renditionFilename(String filename, AvatarSize size) {
+        return filename + "." + size.getPixels() + ".jpg";
+    }
+
+    private static boolean isLocalUpload(String url) {
+        return url != null && url.startsWith(PREFIX) && !url.contains("?");
+    }
+
+    private static boolean isRenditionSize(String pixels) {
+        for (AvatarSize size : AvatarSize.values()) {
+            if (String.valueOf(size.getPixels()).equals(pixels)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.collegebuddy.media;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the EXIF orientation tag (0x0112) from a JPEG, so renditions can be rotated
+ * before the metadata is dropped. Anything unexpected reads as 1 (upright).
+ */
+final class ExifOrientation {
+
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    static int read(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return 1; // not a JPEG
+        }
+
+        int pos = 2;
+        while (pos + 4 <= data.length && (data[pos] & 0xFF) == 0xFF) {
+            int marker = data[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                return 1; // image data starts; no EXIF segment before it
+            }
+            int length = u16(data, pos + 2, true);
+            int segmentEnd = Math.min(data.length, pos + 2 + length);
+            if (marker == 0xE1 && startsWith(data, pos + 4, EXIF_HEADER)) {
+                return fromTiff(data, pos + 4 + EXIF_HEADER.length, segmentEnd);
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int fromTiff(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean bigEndian;
+        if (data[tiff] == 'M' && data[tiff + 1] == 'M') {
+            bigEndian = true;
+        } else if (data[tiff] == 'I' && data[tiff + 1] == 'I') {
+            bigEndian = false;
+        } else {
+            return 1;
+        }
+
+        long ifdOffset = u32(data, tiff + 4, bigEndian);
+        if (ifdOffset < 8 || tiff + ifdOffset + 2 > end) {
+            return 1;
+        }
+        int ifd = tiff + (int) ifdOffset;
+        int entries = u16(data, ifd, bigEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (u16(data, entry, bigEndian) == ORIENTATION_TAG) {
+                int value = u16(data, entry + 8, bigEndian);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (offset + prefix.length > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int u16(byte[] data, int offset, boolean bigEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return bigEndian ? (a << 8) | b : (b << 8) | a;
+    }
+
+    private static long u32(byte[] data, int offset, boolean bigEndian) {
+        long high = u16(data, offset, bigEndian);
+        long low = u16(data, offset + 2, bigEndian);
+        return bigEndian ? (high << 16) | low : (low << 16) | high;
+    }
+}
@@ -0,0 +1,93 @@
+package com.collegebuddy.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * ObjectStore backed by a local directory, standing in for a bucket in development
+ * and tests. Pointing several nodes at one shared directory behaves like a bucket.
+ *
+ * Activated when: collegebuddy.storage.object.provider=filesystem
+ */
+@Component
+@ConditionalOnProperty(name = "collegebuddy.storage.object.provider", havingValue = "filesystem")
+public class FileSystemObjectStore implements ObjectStore {
+
+    private final Path root;
+
+    public FileSystemObjectStore(@Value("${collegebuddy.storage.object.filesystem.dir:object-store/}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new StorageException("Could not create object store directory " + root, e);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) {
+        Path tempPath = null;
+        try {
+            // Copy then move, so readers never see a partial object
+            Path path = pathFor(key);
+            Files.createDirectories(path.getParent());
+            tempPath = Files.createTempFile(root, "put-", ".tmp");
+            Files.copy(source, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tempPath = null;
+        } catch (IOException e) {
+            throw new StorageException("Failed to put object " + key, e);
+        } finally {
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean get(String key, Path target) {
+        Path path = pathFor(key);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            throw new StorageException("Failed to get object " + key, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(pathFor(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(pathFor(key));
+        } catch (IOException e) {
+            throw new StorageException("Failed to delete object " + key, e);
+        }
+    }
+
+    private Path pathFor(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,53 @@
+package com.collegebuddy.media;
+
+/**
+ * Detects an image's type from its leading bytes, so uploads are validated by what
+ * they contain rather than the Content-Type the client claims.
+ */
+final class ImageSniffer {
+
+    /** Bytes needed to recognise every supported format */
+    static final int HEADER_BYTES = 12;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87A = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89A = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    private ImageSniffer() {
+    }
+
+    /**
+     * The content type of the image starting with :head[0, length), or null if it is
+     * not a JPEG, PNG, GIF or WebP
+     */
+    static String detect(byte[] head, int length) {
+        if (startsWith(head, length, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, GIF87A) || startsWith(head, length, 0, GIF89A)) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 0, RIFF) && startsWith(head, length, 8, WEBP)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, byte[] signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,222 @@
+package com.collegebuddy.media;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded cache of files on local disk, in front of a remote store.
+ *
+ * The index is a Caffeine cache weighted by file size, so what is kept is decided by
+ * recency and frequency together (W-TinyLFU, which behaves like LRU for a steady
+ * working set but is not flushed by a burst of one-off reads). Files are deleted as
+ * they leave the index; that happens inside the index's own map operation, so a
+ * concurrent reload of the same name cannot lose its file. Files left from a previous
+ * run are adopted on startup.
+ *
+ * A miss downloads to a temp file outside any index lock (only the final rename runs
+ * inside it), and concurrent misses on one name share that download. Names the store
+ * does not have are remembered for a few seconds, so repeated requests for a missing
+ * file do not each cost a round trip.
+ */
+final class LocalDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalDiskCache.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Duration MISSING_TTL = Duration.ofSeconds(10);
+    private static final int MAX_MISSING = 10_000;
+
+    private final Path dir;
+    private final Cache<String, Path> files;
+    private final Cache<String, Boolean> missing = Caffeine.newBuilder()
+            .maximumSize(MAX_MISSING)
+            .expireAfterWrite(MISSING_TTL)
+            .build();
+    private final ConcurrentMap<String, CompletableFuture<Path>> fetching = new ConcurrentHashMap<>();
+
+    LocalDiskCache(Path dir, long maxBytes, MeterRegistry meterRegistry) {
+        this.dir = dir.toAbsolutePath().normalize();
+        this.files = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String name, Path path) -> (int) Math.min(Integer.MAX_VALUE, path.toFile().length()))
+                .evictionListener((String name, Path path, RemovalCause cause) -> deleteQuietly(path))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+
+        try {
+            Files.createDirectories(this.dir);
+            try (Stream<Path> existing = Files.list(this.dir)) {
+                existing.filter(Files::isRegularFile).forEach(path -> {
+                    String name = path.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        deleteQuietly(path); // interrupted download or upload
+                    } else {
+                        files.put(name, path);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not initialize disk cache at " + this.dir, e);
+        }
+
+        CaffeineCacheMetrics.monitor(meterRegistry, files, "avatar-disk");
+        Gauge.builder("collegebuddy.avatar.disk-cache.bytes", files,
+                        cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes of avatar files held in the local disk cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Disk cache at {} holds {} files", this.dir, files.estimatedSize());
+    }
+
+    /**
+     * Directory of the cache; temp files (*.tmp) created here are cleaned up on startup
+     */
+    Path dir() {
+        return dir;
+    }
+
+    /**
+     * New temp file in the cache directory, for content that will be put() here
+     */
+    Path createTempFile() throws IOException {
+        return Files.createTempFile(dir, "upload-", TEMP_SUFFIX);
+    }
+
+    /**
+     * The cached file for :name, fetched on a miss by :loader, which writes the
+     * content to the path it is given and returns false if there is none.
+     *
+     * @return The file, or null if the loader found nothing (now or in the last few seconds)
+     */
+    Path get(String name, Predicate<Path> loader) {
+        Path path = cached(name);
+        if (path != null) {
+            return path;
+        }
+        if (missing.getIfPresent(name) != null) {
+            return null;
+        }
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> shared = fetching.putIfAbsent(name, mine);
+        if (shared != null) {
+            return await(name, shared);
+        }
+        try {
+            // Another fetch may have finished between the lookup and claiming this one
+            path = cached(name);
+            if (path == null) {
+                path = fetch(name, loader);
+            }
+            mine.complete(path);
+            return path;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            fetching.remove(name, mine);
+        }
+    }
+
+    /**
+     * Moves :source (from createTempFile) into the cache as :name
+     */
+    void put(String name, Path source) throws IOException {
+        missing.invalidate(name);
+        Path target = dir.resolve(name);
+        try {
+            files.asMap().compute(name, (key, existing) -> {
+                try {
+                    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return target;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    void evict(String name) {
+        files.asMap().computeIfPresent(name, (key, path) -> {
+            deleteQuietly(path);
+            return null;
+        });
+    }
+
+    private Path cached(String name) {
+        Path path = files.getIfPresent(name);
+        if (path == null) {
+            return null;
+        }
+        if (Files.isRegularFile(path)) {
+            return path;
+        }
+        files.asMap().remove(name, path); // deleted underneath us
+        return null;
+    }
+
+    /**
+     * Downloads with no lock held, then renames into place inside the index
+     */
+    private Path fetch(String name, Predicate<Path> loader) {
+        Path tempPath = null;
+        try {
+            tempPath = Files.createTempFile(dir, "fetch-", TEMP_SUFFIX);
+            if (!loader.test(tempPath)) {
+                missing.put(name, Boolean.TRUE);
+                return null;
+            }
+            put(name, tempPath);
+            tempPath = null;
+            return dir.resolve(name);
+        } catch (IOException e) {
+            throw new StorageException("Failed to cache " + name, e);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    private static Path await(String name, CompletableFuture<Path> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof StorageException storageException) {
+                throw storageException;
+            }
+            throw new StorageException("Failed to cache " + name, e.getCause());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached file {}", path, e);
+        }
+    }
+}
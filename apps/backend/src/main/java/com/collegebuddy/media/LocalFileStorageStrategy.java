@@ -3,23 +3,36 @@ package com.collegebuddy.media;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * Local filesystem implementation of MediaStorageStrategy.
  * Stores files in a local directory for development or single-server deployments.
+ * Files are named by the SHA-256 of their content, so a URL never changes meaning
+ * and can be cached forever.
  *
- * For production with multiple servers, consider using S3StorageStrategy or similar.
+ * Uploads are streamed to a temp file next to their final location (see
+ * UploadReceiver), then renamed into place.
+ *
+ * For production with multiple servers, use ObjectStorageStrategy.
+ *
+ * Activated when: collegebuddy.storage.type=local (or not set)
  */
 @Component
+@ConditionalOnProperty(
+        name = "collegebuddy.storage.type",
+        havingValue = "local",
+        matchIfMissing = true
+)
 public class LocalFileStorageStrategy implements MediaStorageStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(LocalFileStorageStrategy.class);
@@ -28,30 +41,56 @@ public class LocalFileStorageStrategy implements MediaStorageStrategy {
     private String uploadDir;
 
     @Override
-    public String store(MultipartFile file, Long userId, StorageContext context) {
-        // Validate file using default validation from interface
-        validateFile(file, context);
-
+    public StagedUpload stage(InputStream content, Long userId, StorageContext context) {
         try {
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = extractExtension(originalFilename);
-            String filename = userId + "_" + UUID.randomUUID() + extension;
+            UploadReceiver.Received received = UploadReceiver.receive(content, Paths.get(uploadDir), context);
+            StagedUpload staged = new StagedFile(received.tempPath(), Paths.get(uploadDir + received.filename()),
+                    AvatarUrls.PREFIX + received.filename(), userId);
+            log.debug("Staged {} bytes as {} for user {}", received.size(), staged.url(), userId);
+            return staged;
+        } catch (IOException e) {
+            log.error("Failed to store file for user {}", userId, e);
+            throw new StorageException("Failed to store file", e);
+        }
+    }
 
-            Path targetPath = Paths.get(uploadDir + filename);
+    @Override
+    public boolean exists(String fileUrl) {
+        return fileUrl != null && Files.exists(Paths.get(uploadDir + extractFilenameFromUrl(fileUrl)));
+    }
 
-            // Save file to local filesystem
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+    @Override
+    public Optional<Path> localFile(String fileUrl) {
+        Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path path = root.resolve(extractFilenameFromUrl(fileUrl)).normalize();
+        return path.startsWith(root) && Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
 
-            // Return relative URL path
-            String url = "/uploads/avatars/" + filename;
-            log.info("File stored successfully: {} for user {}", url, userId);
+    @Override
+    public InputStream open(String fileUrl) throws IOException {
+        return Files.newInputStream(Paths.get(uploadDir + extractFilenameFromUrl(fileUrl)));
+    }
 
-            return url;
+    @Override
+    public void storeRendition(String originalUrl, AvatarSize size, byte[] jpeg) {
+        String filename = extractFilenameFromUrl(originalUrl);
+        Path originalPath = Paths.get(uploadDir + filename);
+        if (!Files.exists(originalPath)) {
+            return; // replaced or deleted while renditions were being generated
+        }
 
+        Path tempPath = null;
+        try {
+            // Write then move, so a half-written rendition is never served
+            Path targetPath = Paths.get(uploadDir + AvatarUrls.renditionFilename(filename, size));
+            tempPath = Files.createTempFile(Paths.get(uploadDir), filename, ".tmp");
+            Files.write(tempPath, jpeg);
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
-            log.error("Failed to store file for user {}", userId, e);
-            throw new StorageException("Failed to store file", e);
+            log.error("Failed to store {}px rendition of {}", size.getPixels(), originalUrl, e);
+            throw new StorageException("Failed to store rendition", e);
+        } finally {
+            deleteQuietly(tempPath);
         }
     }
 
@@ -67,6 +106,9 @@ public class LocalFileStorageStrategy implements MediaStorageStrategy {
             Path filePath = Paths.get(uploadDir + filename);
 
             boolean deleted = Files.deleteIfExists(filePath);
+            for (AvatarSize size : AvatarSize.values()) {
+                Files.deleteIfExists(Paths.get(uploadDir + AvatarUrls.renditionFilename(filename, size)));
+            }
             if (deleted) {
                 log.info("File deleted successfully: {}", fileUrl);
             }
@@ -90,14 +132,15 @@ public class LocalFileStorageStrategy implements MediaStorageStrategy {
         }
     }
 
-    /**
-     * Extracts file extension from original filename.
-     */
-    private String extractExtension(String originalFilename) {
-        if (originalFilename != null && originalFilename.contains(".")) {
-            return originalFilename.substring(originalFilename.lastIndexOf("."));
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}", path, e);
         }
-        return ".jpg"; // default extension
     }
 
     /**
@@ -115,4 +158,48 @@ public class LocalFileStorageStrategy implements MediaStorageStrategy {
 
         return filename;
     }
+
+    /**
+     * A fully written temp file in the upload directory; publishing renames it, so the
+     * bytes are written to disk exactly once.
+     */
+    private static final class StagedFile implements StagedUpload {
+
+        private final Path tempPath;
+        private final Path targetPath;
+        private final String url;
+        private final Long userId;
+
+        StagedFile(Path tempPath, Path targetPath, String url, Long userId) {
+            this.tempPath = tempPath;
+            this.targetPath = targetPath;
+            this.url = url;
+            this.userId = userId;
+        }
+
+        @Override
+        public String url() {
+            return url;
+        }
+
+        @Override
+        public void publish() {
+            if (Files.exists(targetPath)) {
+                log.info("File already stored: {} for user {}", url, userId);
+                return;
+            }
+            try {
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("File stored successfully: {} for user {}", url, userId);
+            } catch (IOException e) {
+                log.error("Failed to store file for user {}", userId, e);
+                throw new StorageException("Failed to store file", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            deleteQuietly(tempPath);
+        }
+    }
 }
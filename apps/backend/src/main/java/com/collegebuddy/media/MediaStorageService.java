@@ -1,8 +1,20 @@
 package com.collegebuddy.media;
 
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.domain.MediaObject;
+import com.collegebuddy.repo.MediaObjectRepository;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.Optional;
 
 /**
  * Handles media upload/storage and returns URLs.
@@ -10,14 +22,40 @@ import org.springframework.web.multipart.MultipartFile;
  *
  * The actual storage implementation (local, S3, etc.) can be switched
  * by providing a different MediaStorageStrategy bean.
+ *
+ * Stored files are content-addressed, so identical uploads share one file. Each
+ * file's references are counted in media_objects. Releasing the last reference
+ * leaves the row at zero; once that transaction commits, a separate short one
+ * locks the row, deletes the file if it is still unreferenced and drops the row.
+ * Uploads are only published while holding the same lock, so a concurrent upload
+ * of the same image cannot lose its file. Files without a row (external URLs,
+ * anything not uploaded here) are never deleted.
  */
 @Service
 public class MediaStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageService.class);
+
+    private static final int MAX_ACQUIRE_ATTEMPTS = 3;
+
     private final MediaStorageStrategy storageStrategy;
+    private final AvatarRenditionService renditions;
+    private final MediaObjectRepository mediaObjects;
+    private final AvatarFileServer avatarFiles;
+    private final TransactionTemplate purgeTransactions;
 
-    public MediaStorageService(MediaStorageStrategy storageStrategy) {
+    public MediaStorageService(MediaStorageStrategy storageStrategy,
+                               AvatarRenditionService renditions,
+                               MediaObjectRepository mediaObjects,
+                               AvatarFileServer avatarFiles,
+                               PlatformTransactionManager transactionManager) {
         this.storageStrategy = storageStrategy;
+        this.renditions = renditions;
+        this.mediaObjects = mediaObjects;
+        this.avatarFiles = avatarFiles;
+        // Purges run from after-commit callbacks, where the caller's transaction is still bound
+        this.purgeTransactions = new TransactionTemplate(transactionManager);
+        this.purgeTransactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @PostConstruct
@@ -26,25 +64,126 @@ public class MediaStorageService {
     }
 
     /**
-     * Stores an avatar image and returns its URL.
+     * Streams an avatar upload into storage, unpublished. Call this outside a
+     * transaction, so a slow client does not hold a database connection, then
+     * publish the result with storeAvatar.
      *
-     * @param file The image file to store
+     * @param content The request body
      * @param userId The ID of the user uploading the avatar
+     * @return The staged upload; close it when done
+     * @throws IllegalArgumentException if the file is empty, too large or not a supported image
+     * @throws StorageException if storage fails
+     */
+    public StagedUpload stageAvatar(InputStream content, Long userId) {
+        return storageStrategy.stage(content, userId, StorageContext.avatar());
+    }
+
+    /**
+     * Publishes a staged avatar, takes one reference to it and returns its URL.
+     * Sized renditions (see AvatarUrls) are generated in the background.
+     *
+     * @param upload The upload from stageAvatar
      * @return The URL where the avatar can be accessed
-     * @throws IllegalArgumentException if file is invalid
      * @throws StorageException if storage fails
      */
-    public String storeAvatar(MultipartFile file, Long userId) {
-        return storageStrategy.store(file, userId, StorageContext.avatar());
+    @Transactional
+    public String storeAvatar(StagedUpload upload) {
+        String url = upload.url();
+        acquire(url);
+        // Under the row lock: a concurrent release of the same image either finished
+        // deleting the file before this, or waits until we commit
+        upload.publish();
+
+        if (!storageStrategy.exists(AvatarUrls.rendition(url, AvatarSize.LARGE))) {
+            renditions.submit(url);
+        }
+        return url;
     }
 
     /**
-     * Deletes a file from storage.
+     * Takes another reference to an avatar that is already stored, e.g. when a
+     * profile is pointed at an existing upload URL.
      *
-     * @param fileUrl The URL of the file to delete
-     * @return true if deleted, false if file didn't exist
+     * @param fileUrl The avatar URL (or one of its rendition URLs)
+     * @return true if the file is reference counted, false for external URLs and older uploads
      */
-    public boolean deleteFile(String fileUrl) {
-        return storageStrategy.delete(fileUrl);
+    @Transactional
+    public boolean retainAvatar(String fileUrl) {
+        if (fileUrl == null) {
+            return false;
+        }
+        Optional<MediaObject> object = mediaObjects.findForUpdate(AvatarUrls.original(fileUrl));
+        object.ifPresent(o -> o.setRefCount(o.getRefCount() + 1));
+        return object.isPresent();
+    }
+
+    /**
+     * Releases one reference to an avatar. When it was the last one, the file (and
+     * its renditions) is deleted after the current transaction commits; nothing is
+     * touched in storage before that. URLs without a reference count are left alone.
+     *
+     * @param fileUrl The avatar URL (or one of its rendition URLs)
+     * @return true if the file will be deleted once the transaction commits
+     */
+    @Transactional
+    public boolean releaseAvatar(String fileUrl) {
+        if (fileUrl == null) {
+            return false;
+        }
+        String url = AvatarUrls.original(fileUrl);
+        Optional<MediaObject> object = mediaObjects.findForUpdate(url);
+        if (object.isEmpty() || object.get().getRefCount() == 0) {
+            return false;
+        }
+
+        MediaObject mediaObject = object.get();
+        mediaObject.setRefCount(mediaObject.getRefCount() - 1);
+        if (mediaObject.getRefCount() > 0) {
+            return false;
+        }
+        AfterCommit.run(() -> purge(url));
+        return true;
+    }
+
+    /**
+     * Deletes files whose last reference was released but whose purge never ran
+     * or failed, e.g. because storage was unavailable or the node stopped
+     */
+    @Scheduled(
+            initialDelayString = "${collegebuddy.storage.purge-interval-ms:3600000}",
+            fixedDelayString = "${collegebuddy.storage.purge-interval-ms:3600000}"
+    )
+    public void purgeUnreferenced() {
+        mediaObjects.findUnreferencedPaths().forEach(this::purge);
+    }
+
+    private void purge(String url) {
+        try {
+            purgeTransactions.executeWithoutResult(status ->
+                    mediaObjects.findForUpdate(url)
+                            .filter(object -> object.getRefCount() == 0)
+                            .ifPresent(object -> {
+                                // Under the row lock, so a concurrent upload of the same image waits
+                                storageStrategy.delete(url);
+                                mediaObjects.delete(object);
+                            }));
+            avatarFiles.evict(url);
+        } catch (RuntimeException e) {
+            // The row stays at zero references and purgeUnreferenced retries it
+            log.warn("Failed to delete unreferenced file {}", url, e);
+        }
+    }
+
+    private void acquire(String url) {
+        for (int attempt = 0; attempt < MAX_ACQUIRE_ATTEMPTS; attempt++) {
+            mediaObjects.insertIfNotExists(url);
+            Optional<MediaObject> object = mediaObjects.findForUpdate(url);
+            if (object.isPresent()) {
+                object.get().setRefCount(object.get().getRefCount() + 1);
+                return;
+            }
+            // Deleted by a concurrent release between the insert and the lock
+        }
+        throw new StorageException("Could not reference stored file " + url);
     }
 }
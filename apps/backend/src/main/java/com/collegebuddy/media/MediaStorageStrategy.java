@@ -1,6 +1,9 @@
 package com.collegebuddy.media;
 
-import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 /**
  * Strategy interface for media storage implementations.
@@ -12,19 +15,62 @@ import org.springframework.web.multipart.MultipartFile;
 public interface MediaStorageStrategy {
 
     /**
-     * Stores a file and returns its accessible URL/path.
+     * Streams an upload into storage without holding it in memory, and stages it
+     * under its content-addressed URL. The type is detected from the leading bytes
+     * and the size limit is enforced as the bytes arrive, so neither depends on what
+     * the client declared.
+     * Identical content must map to the same URL, and a URL must never be reused
+     * for different content; the URL is served with immutable caching.
      *
-     * @param file The file to store
+     * @param content The upload body; read to the end but not closed
      * @param userId The ID of the user uploading the file
-     * @param context Additional context for storage (e.g., file type, category)
-     * @return The URL or path where the file can be accessed
-     * @throws IllegalArgumentException if file is invalid
+     * @param context Validation rules for storage (allowed types, maximum size)
+     * @return The staged file, to be published (or closed to discard it)
+     * @throws IllegalArgumentException if the file is empty, too large or not an allowed type
      * @throws StorageException if storage operation fails
      */
-    String store(MultipartFile file, Long userId, StorageContext context);
+    StagedUpload stage(InputStream content, Long userId, StorageContext context);
 
     /**
-     * Deletes a file from storage.
+     * Whether a file is currently stored at the given URL.
+     *
+     * @param fileUrl The URL or identifier of the file
+     * @return true if the file exists
+     */
+    boolean exists(String fileUrl);
+
+    /**
+     * A file on local disk holding the content stored at the given URL, for serving
+     * it with sendfile. Remote backends fetch it into a local cache first.
+     *
+     * @param fileUrl The URL or identifier of the file
+     * @return The local file, or empty if nothing is stored at the URL
+     * @throws StorageException if the backend cannot be reached
+     */
+    Optional<Path> localFile(String fileUrl);
+
+    /**
+     * Opens a stored file for reading.
+     *
+     * @param fileUrl The URL or identifier of the file
+     * @return The file's content; the caller closes it
+     * @throws IOException if the file does not exist or cannot be read
+     */
+    InputStream open(String fileUrl) throws IOException;
+
+    /**
+     * Stores a generated rendition next to a previously stored avatar, at the URL given by
+     * AvatarUrls.rendition(originalUrl, size). Does nothing if the original is already gone.
+     *
+     * @param originalUrl The URL of a published upload
+     * @param size The rendition size
+     * @param jpeg The encoded rendition
+     * @throws StorageException if storage operation fails
+     */
+    void storeRendition(String originalUrl, AvatarSize size, byte[] jpeg);
+
+    /**
+     * Deletes a file, and any renditions of it, from storage.
      *
      * @param fileUrl The URL or identifier of the file to delete
      * @return true if file was deleted, false if file didn't exist
@@ -39,31 +85,4 @@ public interface MediaStorageStrategy {
      * @throws StorageException if initialization fails
      */
     void initialize();
-
-    /**
-     * Validates a file before storage.
-     *
-     * @param file The file to validate
-     * @param context The storage context with validation rules
-     * @throws IllegalArgumentException if file is invalid
-     */
-    default void validateFile(MultipartFile file, StorageContext context) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("File is empty");
-        }
-
-        // Validate file type
-        String contentType = file.getContentType();
-        if (context.getAllowedContentTypes() != null &&
-                (contentType == null || !context.getAllowedContentTypes().contains(contentType))) {
-            throw new IllegalArgumentException("Invalid file type. Allowed types: " +
-                    context.getAllowedContentTypes());
-        }
-
-        // Validate file size
-        if (context.getMaxSizeBytes() != null && file.getSize() > context.getMaxSizeBytes()) {
-            throw new IllegalArgumentException("File size exceeds maximum allowed: " +
-                    context.getMaxSizeBytes() / (1024 * 1024) + "MB");
-        }
-    }
 }
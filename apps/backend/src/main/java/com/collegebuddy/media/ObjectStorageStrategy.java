@@ -0,0 +1,231 @@
+package com.collegebuddy.media;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * MediaStorageStrategy keeping avatars in an ObjectStore (a bucket), so any number
+ * of nodes share them and none depends on its own volume.
+ *
+ * Each node keeps a size-bounded read-through cache of files on local disk
+ * (LocalDiskCache). Serving a hot avatar is a sendfile from that cache, with no
+ * round trip to the bucket; a miss fetches the object once. Uploads are staged in the
+ * cache directory, so after publishing they are already cached on the node that
+ * received them. Objects are immutable (content-addressed), so cached copies never
+ * go stale; a deleted avatar may linger in other nodes' caches until evicted, but
+ * nothing references it any more.
+ *
+ * Objects are stored under avatars/ with the same file names as local storage.
+ * Names that are not a content address (or a rendition of one) are rejected before
+ * any request to the store, so probing random URLs costs nothing.
+ *
+ * Activated when: collegebuddy.storage.type=object
+ */
+@Component
+@ConditionalOnProperty(name = "collegebuddy.storage.type", havingValue = "object")
+public class ObjectStorageStrategy implements MediaStorageStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(ObjectStorageStrategy.class);
+
+    private static final String KEY_PREFIX = "avatars/";
+
+    // SHA-256 hex plus an upload extension, optionally followed by a rendition suffix
+    private static final Pattern CONTENT_ADDRESS =
+            Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)(\\.\\d+\\.jpg)?");
+
+    private final ObjectStore store;
+    private final LocalDiskCache cache;
+
+    public ObjectStorageStrategy(ObjectStore store,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${collegebuddy.storage.object.cache-dir:media-cache/}") String cacheDir,
+                                 @Value("${collegebuddy.storage.object.cache-max-bytes:268435456}") long cacheMaxBytes) {
+        this.store = store;
+        this.cache = new LocalDiskCache(Paths.get(cacheDir), cacheMaxBytes, meterRegistry);
+    }
+
+    @Override
+    public StagedUpload stage(InputStream content, Long userId, StorageContext context) {
+        try {
+            UploadReceiver.Received received = UploadReceiver.receive(content, cache.dir(), context);
+            StagedObject staged = new StagedObject(received, userId);
+            // Upload now, outside the caller's transaction; publish() only re-checks
+            try {
+                staged.upload();
+            } catch (RuntimeException e) {
+                staged.close();
+                throw e;
+            }
+            log.debug("Staged {} bytes as {} for user {}", received.size(), staged.url(), userId);
+            return staged;
+        } catch (IOException e) {
+            log.error("Failed to store file for user {}", userId, e);
+            throw new StorageException("Failed to store file", e);
+        }
+    }
+
+    @Override
+    public boolean exists(String fileUrl) {
+        return fileUrl != null && isContentAddress(filenameOf(fileUrl))
+                && store.exists(KEY_PREFIX + filenameOf(fileUrl));
+    }
+
+    @Override
+    public Optional<Path> localFile(String fileUrl) {
+        String filename = filenameOf(fileUrl);
+        if (!isContentAddress(filename)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(filename, target -> store.get(KEY_PREFIX + filename, target)));
+    }
+
+    @Override
+    public InputStream open(String fileUrl) throws IOException {
+        Path path = localFile(fileUrl).orElseThrow(() -> new NoSuchFileException(fileUrl));
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void storeRendition(String originalUrl, AvatarSize size, byte[] jpeg) {
+        String filename = filenameOf(originalUrl);
+        if (!store.exists(KEY_PREFIX + filename)) {
+            return; // replaced or deleted while renditions were being generated
+        }
+
+        String renditionFilename = AvatarUrls.renditionFilename(filename, size);
+        Path tempPath = null;
+        try {
+            tempPath = cache.createTempFile();
+            Files.write(tempPath, jpeg);
+            store.put(KEY_PREFIX + renditionFilename, tempPath, "image/jpeg");
+            cache.put(renditionFilename, tempPath);
+            tempPath = null;
+        } catch (IOException e) {
+            log.error("Failed to store {}px rendition of {}", size.getPixels(), originalUrl, e);
+            throw new StorageException("Failed to store rendition", e);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    @Override
+    public boolean delete(String fileUrl) {
+        if (fileUrl == null || !fileUrl.contains("/uploads/")) {
+            return false;
+        }
+
+        String filename = filenameOf(fileUrl);
+        boolean existed = store.exists(KEY_PREFIX + filename);
+        store.delete(KEY_PREFIX + filename);
+        cache.evict(filename);
+        for (AvatarSize size : AvatarSize.values()) {
+            String renditionFilename = AvatarUrls.renditionFilename(filename, size);
+            store.delete(KEY_PREFIX + renditionFilename);
+            cache.evict(renditionFilename);
+        }
+        if (existed) {
+            log.info("File deleted successfully: {}", fileUrl);
+        }
+        return existed;
+    }
+
+    @Override
+    public void initialize() {
+        log.info("Object storage initialized; avatars are stored under {}", KEY_PREFIX);
+    }
+
+    private static boolean isContentAddress(String filename) {
+        return CONTENT_ADDRESS.matcher(filename).matches();
+    }
+
+    private static String filenameOf(String fileUrl) {
+        String filename = fileUrl.substring(fileUrl.lastIndexOf('/') + 1);
+        int query = filename.indexOf('?');
+        return query < 0 ? filename : filename.substring(0, query);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}", path, e);
+        }
+    }
+
+    /**
+     * An upload in the cache directory. It is sent to the bucket (unless identical
+     * content is already there) when staged, so the caller's transaction only waits
+     * for an existence check; publishing keeps the file as a cached copy. Nothing is
+     * uploaded while the row lock is held: if the last other reference was purged
+     * since staging, publish fails with StaleUploadException and restage() sends the
+     * content again.
+     */
+    private final class StagedObject implements StagedUpload {
+
+        private final UploadReceiver.Received received;
+        private final Long userId;
+        private boolean published;
+
+        StagedObject(UploadReceiver.Received received, Long userId) {
+            this.received = received;
+            this.userId = userId;
+        }
+
+        @Override
+        public String url() {
+            return AvatarUrls.PREFIX + received.filename();
+        }
+
+        void upload() {
+            String key = KEY_PREFIX + received.filename();
+            if (store.exists(key)) {
+                log.info("File already stored: {} for user {}", url(), userId);
+            } else {
+                store.put(key, received.tempPath(), received.contentType());
+                log.info("File stored successfully: {} for user {}", url(), userId);
+            }
+        }
+
+        @Override
+        public void restage() {
+            upload();
+        }
+
+        @Override
+        public void publish() {
+            if (!store.exists(KEY_PREFIX + received.filename())) {
+                // Identical content was purged since upload(); send it again outside the lock
+                throw new StaleUploadException("Stored copy of " + url() + " was deleted since staging");
+            }
+            try {
+                cache.put(received.filename(), received.tempPath());
+                published = true;
+            } catch (IOException e) {
+                log.warn("Could not cache {}; it will be fetched on first read", url(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!published) {
+                deleteQuietly(received.tempPath());
+            }
+        }
+    }
+}
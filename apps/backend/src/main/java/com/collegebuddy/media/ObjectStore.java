@@ -0,0 +1,41 @@
+package com.collegebuddy.media;
+
+import java.nio.file.Path;
+
+/**
+ * A bucket of immutable objects addressed by key. ObjectStorageStrategy keeps
+ * avatars here so every node sees the same files.
+ *
+ * Implementations: S3ObjectStore (any S3-compatible API, e.g. AWS S3, GCS
+ * interoperability, MinIO) and FileSystemObjectStore, a directory-backed stand-in
+ * for development and tests.
+ */
+public interface ObjectStore {
+
+    /**
+     * Uploads the file at :source as :key, replacing any existing object.
+     *
+     * @throws StorageException if the upload fails
+     */
+    void put(String key, Path source, String contentType);
+
+    /**
+     * Downloads :key to :target, replacing it.
+     *
+     * @return false if there is no such object
+     * @throws StorageException if the download fails
+     */
+    boolean get(String key, Path target);
+
+    /**
+     * @throws StorageException if the store cannot be reached
+     */
+    boolean exists(String key);
+
+    /**
+     * Deletes :key; deleting a missing object is not an error.
+     *
+     * @throws StorageException if the delete fails
+     */
+    void delete(String key);
+}
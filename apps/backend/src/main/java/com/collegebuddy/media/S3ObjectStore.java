@@ -0,0 +1,274 @@
+package com.collegebuddy.media;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ObjectStore over the S3 REST API with SigV4 signing, using path-style URLs
+ * (endpoint/bucket/key) so it works with AWS S3, GCS interoperability (HMAC keys),
+ * MinIO and R2 alike.
+ *
+ * Files larger than one part are sent as a multipart upload, with up to
+ * :upload-concurrency parts in flight at once; each part is streamed from its slice
+ * of the file. A failed multipart upload is aborted so no orphaned parts are billed.
+ *
+ * Activated when: collegebuddy.storage.object.provider=s3
+ */
+@Component
+@ConditionalOnProperty(name = "collegebuddy.storage.object.provider", havingValue = "s3")
+public class S3ObjectStore implements ObjectStore {
+
+    private static final Logger log = LoggerFactory.getLogger(S3ObjectStore.class);
+
+    // S3's lower bound for every part but the last
+    private static final long MIN_PART_BYTES = 5L * 1024 * 1024;
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+
+    private final HttpClient http;
+    private final SigV4Signer signer;
+    private final String baseUrl;
+    private final long partBytes;
+    private final int uploadConcurrency;
+    private final Duration timeout;
+
+    public S3ObjectStore(@Value("${collegebuddy.storage.object.s3.endpoint}") String endpoint,
+                         @Value("${collegebuddy.storage.object.s3.region:auto}") String region,
+                         @Value("${collegebuddy.storage.object.s3.bucket}") String bucket,
+                         @Value("${collegebuddy.storage.object.s3.access-key}") String accessKey,
+                         @Value("${collegebuddy.storage.object.s3.secret-key}") String secretKey,
+                         @Value("${collegebuddy.storage.object.s3.part-bytes:8388608}") long partBytes,
+                         @Value("${collegebuddy.storage.object.s3.upload-concurrency:4}") int uploadConcurrency,
+                         @Value("${collegebuddy.storage.object.s3.timeout-ms:10000}") long timeoutMs) {
+        if (bucket == null || bucket.isBlank() || accessKey == null || accessKey.isBlank()) {
+            throw new IllegalStateException("Object storage bucket and credentials must be set");
+        }
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        this.signer = new SigV4Signer(accessKey, secretKey, region);
+        this.baseUrl = endpoint.replaceAll("/+$", "") + "/" + SigV4Signer.encode(bucket, false) + "/";
+        this.partBytes = Math.max(partBytes, MIN_PART_BYTES);
+        this.uploadConcurrency = uploadConcurrency;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) {
+        try {
+            long size = Files.size(source);
+            if (size <= partBytes) {
+                HttpResponse<String> response = send("PUT", key, "", Map.of("Content-Type", contentType),
+                        HttpRequest.BodyPublishers.ofFile(source));
+                expectSuccess(response, "put", key);
+            } else {
+                putMultipart(key, source, size, contentType);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to put object " + key, e);
+        }
+    }
+
+    @Override
+    public boolean get(String key, Path target) {
+        HttpResponse<Path> response = send(request("GET", key, "", Map.of(), HttpRequest.BodyPublishers.noBody()),
+                info -> info.statusCode() == 200
+                        ? HttpResponse.BodySubscribers.ofFile(target)
+                        : HttpResponse.BodySubscribers.replacing(null));
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new StorageException("Failed to get object " + key + ": HTTP " + response.statusCode());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        HttpResponse<Void> response = send(request("HEAD", key, "", Map.of(), HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new StorageException("Failed to check object " + key + ": HTTP " + response.statusCode());
+        }
+        return true;
+    }
+
+    @Override
+    public void delete(String key) {
+        HttpResponse<String> response = send("DELETE", key, "", Map.of(), HttpRequest.BodyPublishers.noBody());
+        if (response.statusCode() != 404) {
+            expectSuccess(response, "delete", key);
+        }
+    }
+
+    private void putMultipart(String key, Path source, long size, String contentType) throws IOException {
+        HttpResponse<String> created = send("POST", key, "uploads=", Map.of("Content-Type", contentType),
+                HttpRequest.BodyPublishers.noBody());
+        expectSuccess(created, "start multipart upload of", key);
+        Matcher matcher = UPLOAD_ID.matcher(created.body());
+        if (!matcher.find()) {
+            throw new StorageException("No upload id for multipart upload of " + key);
+        }
+        String uploadId = SigV4Signer.encode(matcher.group(1), false);
+
+        try (FileChannel file = FileChannel.open(source, StandardOpenOption.READ)) {
+            int parts = (int) ((size + partBytes - 1) / partBytes);
+            List<CompletableFuture<String>> etags = new ArrayList<>(parts);
+            Semaphore inFlight = new Semaphore(uploadConcurrency);
+            for (int part = 1; part <= parts; part++) {
+                long offset = (part - 1) * partBytes;
+                long length = Math.min(partBytes, size - offset);
+                inFlight.acquireUninterruptibly();
+                etags.add(sendPart(key, uploadId, part, file, offset, length)
+                        .whenComplete((etag, error) -> inFlight.release()));
+            }
+            CompletableFuture.allOf(etags.toArray(CompletableFuture[]::new)).join();
+
+            StringBuilder body = new StringBuilder("<CompleteMultipartUpload>");
+            for (int part = 1; part <= parts; part++) {
+                body.append("<Part><PartNumber>").append(part).append("</PartNumber><ETag>")
+                        .append(etags.get(part - 1).join()).append("</ETag></Part>");
+            }
+            body.append("</CompleteMultipartUpload>");
+            HttpResponse<String> completed = send("POST", key, "uploadId=" + uploadId,
+                    Map.of("Content-Type", "application/xml"), HttpRequest.BodyPublishers.ofString(body.toString()));
+            // S3 can report a failed completion in a 200 response
+            if (completed.statusCode() != 200 || completed.body().contains("<Error>")) {
+                throw new StorageException("Failed to complete multipart upload of " + key + ": HTTP "
+                        + completed.statusCode());
+            }
+            log.debug("Uploaded {} in {} parts", key, parts);
+        } catch (CompletionException e) {
+            abort(key, uploadId);
+            throw e.getCause() instanceof StorageException cause
+                    ? cause
+                    : new StorageException("Failed to upload parts of " + key, e.getCause());
+        } catch (RuntimeException | IOException e) {
+            abort(key, uploadId);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<String> sendPart(String key, String uploadId, int part,
+                                               FileChannel file, long offset, long length) {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> new FileSliceInputStream(file, offset, length)), length);
+        HttpRequest request = request("PUT", key, "partNumber=" + part + "&uploadId=" + uploadId, Map.of(), body);
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    expectSuccess(response, "upload part " + part + " of", key);
+                    return response.headers().firstValue("ETag")
+                            .orElseThrow(() -> new StorageException("No ETag for part " + part + " of " + key));
+                });
+    }
+
+    private void abort(String key, String uploadId) {
+        try {
+            send("DELETE", key, "uploadId=" + uploadId, Map.of(), HttpRequest.BodyPublishers.noBody());
+        } catch (RuntimeException e) {
+            log.warn("Could not abort multipart upload of {}; the bucket's lifecycle rule will clean it up", key, e);
+        }
+    }
+
+    private HttpResponse<String> send(String method, String key, String query, Map<String, String> headers,
+                                      HttpRequest.BodyPublisher body) {
+        return send(request(method, key, query, headers, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        try {
+            return http.send(request, handler);
+        } catch (IOException e) {
+            throw new StorageException("Object storage request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted during object storage request", e);
+        }
+    }
+
+    private HttpRequest request(String method, String key, String query, Map<String, String> headers,
+                                HttpRequest.BodyPublisher body) {
+        URI uri = URI.create(baseUrl + SigV4Signer.encode(key, true) + (query.isEmpty() ? "" : "?" + query));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(method, body);
+        signer.sign(method, uri, headers, SigV4Signer.UNSIGNED_PAYLOAD, Instant.now()).forEach((name, value) -> {
+            if (!name.equals("host")) { // set by the client from the URI
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private static void expectSuccess(HttpResponse<String> response, String action, String key) {
+        if (response.statusCode() / 100 != 2) {
+            throw new StorageException("Failed to " + action + " object " + key + ": HTTP " + response.statusCode()
+                    + " " + response.body());
+        }
+    }
+
+    /**
+     * Reads [offset, offset + length) of a file with positional reads, so parts can be
+     * streamed concurrently from one channel
+     */
+    private static final class FileSliceInputStream extends InputStream {
+
+        private final FileChannel file;
+        private long position;
+        private final long end;
+
+        FileSliceInputStream(FileChannel file, long offset, long length) {
+            this.file = file;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int n = file.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n < 0) {
+                return -1;
+            }
+            position += n;
+            return n;
+        }
+    }
+}
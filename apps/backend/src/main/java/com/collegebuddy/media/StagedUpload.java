@@ -0,0 +1,35 @@
+package com.collegebuddy.media;
+
+/**
+ * An upload that has been fully received and checksummed but is not yet visible at
+ * its URL. Staging happens outside any transaction; publishing is cheap (a rename
+ * for local storage) and is done while the file's reference row is locked.
+ *
+ * Closing discards the staged copy unless it was published.
+ */
+public interface StagedUpload extends AutoCloseable {
+
+    /**
+     * The content-addressed URL the file is published at
+     */
+    String url();
+
+    /**
+     * Make the file available at url(). If identical content is already stored there,
+     * the staged copy is simply discarded.
+     *
+     * @throws StaleUploadException if the stored copy was deleted since staging; restage() and retry
+     * @throws StorageException if the file cannot be moved into place
+     */
+    void publish();
+
+    /**
+     * Puts the content back into storage after publish() threw StaleUploadException.
+     * Call it outside any transaction.
+     */
+    default void restage() {
+    }
+
+    @Override
+    void close();
+}
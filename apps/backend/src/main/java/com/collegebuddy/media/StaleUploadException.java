@@ -0,0 +1,13 @@
+package com.collegebuddy.media;
+
+/**
+ * Thrown when a staged upload can no longer be published because the stored copy it
+ * relied on was deleted in the meantime. Roll back, call StagedUpload.restage()
+ * outside the transaction and publish again.
+ */
+public class StaleUploadException extends StorageException {
+
+    public StaleUploadException(String message) {
+        super(message);
+    }
+}
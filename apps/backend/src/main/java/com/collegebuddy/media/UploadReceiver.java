@@ -0,0 +1,116 @@
+package com.collegebuddy.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Streams an upload to a temp file in 64KB chunks, sniffing its type from the first
+ * chunk, enforcing the size limit and hashing it on the way. Memory per upload stays
+ * constant whatever the file size. Shared by the storage strategies.
+ */
+final class UploadReceiver {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private static final Map<String, String> CONTENT_TYPE_EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp"
+    );
+
+    /**
+     * A received upload in a temp file, named :filename once stored
+     */
+    record Received(Path tempPath, String contentType, String filename, long size) {
+    }
+
+    private UploadReceiver() {
+    }
+
+    /**
+     * Write :content to a new temp file in :dir. The temp file is deleted if the upload is rejected.
+     *
+     * @throws IllegalArgumentException if the file is empty, too large or not an allowed type
+     */
+    static Received receive(InputStream content, Path dir, StorageContext context) throws IOException {
+        ReadableByteChannel in = Channels.newChannel(content);
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+
+        // Judge the type by the first bytes, before anything is written
+        while (buffer.position() < ImageSniffer.HEADER_BYTES && in.read(buffer) >= 0) {
+            // keep reading
+        }
+        if (buffer.position() == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        String contentType = ImageSniffer.detect(buffer.array(), buffer.position());
+        if (contentType == null || (context.getAllowedContentTypes() != null
+                && !context.getAllowedContentTypes().contains(contentType))) {
+            throw new IllegalArgumentException("Invalid file type. Allowed types: " +
+                    context.getAllowedContentTypes());
+        }
+
+        MessageDigest digest = sha256();
+        Path tempPath = Files.createTempFile(dir, "upload-", ".tmp");
+        boolean received = false;
+        try {
+            long size = 0;
+            try (FileChannel out = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                do {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (context.getMaxSizeBytes() != null && size > context.getMaxSizeBytes()) {
+                        throw new IllegalArgumentException("File size exceeds maximum allowed: " +
+                                context.getMaxSizeBytes() / (1024 * 1024) + "MB");
+                    }
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                } while (in.read(buffer) >= 0);
+            }
+
+            // Name the file after its content, so identical uploads share one file
+            String filename = HexFormat.of().formatHex(digest.digest()) + CONTENT_TYPE_EXTENSIONS.get(contentType);
+            received = true;
+            return new Received(tempPath, contentType, filename, size);
+        } finally {
+            if (!received) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+    }
+
+    /**
+     * Content type for a stored file name, from its extension
+     */
+    static String contentTypeOf(String filename) {
+        String extension = filename.substring(filename.lastIndexOf('.'));
+        return CONTENT_TYPE_EXTENSIONS.entrySet().stream()
+                .filter(e -> e.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse("image/jpeg");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.collegebuddy.messaging;
+
+import com.collegebuddy.repo.ConversationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically reconciles the denormalized conversation summaries
+ * (last message, per-participant unread counts) against the messages table.
+ *
+ * The write path keeps summaries current; this only catches drift from
+ * rows changed outside MessagingService (manual fixes, deletes, failed writes).
+ *
+ * Activated when: collegebuddy.messaging.summary-repair.enabled=true (default)
+ */
+@Component
+@ConditionalOnProperty(
+        name = "collegebuddy.messaging.summary-repair.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class ConversationSummaryRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationSummaryRepairJob.class);
+
+    private final ConversationRepository conversations;
+
+    public ConversationSummaryRepairJob(ConversationRepository conversations) {
+        this.conversations = conversations;
+    }
+
+    @Scheduled(
+            initialDelayString = "${collegebuddy.messaging.summary-repair.initial-delay-ms:300000}",
+            fixedDelayString = "${collegebuddy.messaging.summary-repair.interval-ms:1800000}"
+    )
+    @Transactional
+    public void repair() {
+        int repaired = conversations.repairSummaries();
+        if (repaired > 0) {
+            log.warn("Repaired {} drifted conversation summaries", repaired);
+        } else {
+            log.debug("Conversation summaries are consistent");
+        }
+    }
+}
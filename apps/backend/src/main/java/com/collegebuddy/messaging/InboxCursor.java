@@ -0,0 +1,36 @@
+package com.collegebuddy.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the conversation inbox.
+ * Encodes the last activity time and conversation id of the last row on a page,
+ * so the next page starts strictly after it regardless of concurrent inserts.
+ */
+public record InboxCursor(Instant lastActivityAt, Long conversationId) {
+
+    public String encode() {
+        String raw = lastActivityAt.getEpochSecond() + "." + lastActivityAt.getNano() + ":" + conversationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InboxCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            if (dot < 0 || colon < dot) {
+                throw new IllegalArgumentException("Invalid inbox cursor");
+            }
+            long seconds = Long.parseLong(raw.substring(0, dot));
+            long nanos = Long.parseLong(raw.substring(dot + 1, colon));
+            long conversationId = Long.parseLong(raw.substring(colon + 1));
+            return new InboxCursor(Instant.ofEpochSecond(seconds, nanos), conversationId);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are both IllegalArgumentException
+            throw new IllegalArgumentException("Invalid inbox cursor", e);
+        }
+    }
+}
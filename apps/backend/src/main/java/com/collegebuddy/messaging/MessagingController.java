@@ -2,6 +2,7 @@ package com.collegebuddy.messaging;
 
 import com.collegebuddy.dto.ConversationListItemDto;
 import com.collegebuddy.dto.ConversationResponse;
+import com.collegebuddy.dto.InboxPageDto;
 import com.collegebuddy.dto.MessageDto;
 import com.collegebuddy.dto.SendMessageRequest;
 import com.collegebuddy.security.AuthenticatedUser;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -36,6 +38,14 @@ public class MessagingController {
         return ResponseEntity.ok(conversations);
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<InboxPageDto> getInbox(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        InboxPageDto page = messagingService.getInbox(current.id(), current.campusDomain(), cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @PostMapping("/send")
     public ResponseEntity<MessageDto> send(@RequestBody SendMessageRequest request) {
         AuthenticatedUser current = SecurityUtils.getCurrentUser();
@@ -44,12 +54,18 @@ public class MessagingController {
     }
 
     @GetMapping("/conversation/{otherUserId}")
-    public ResponseEntity<ConversationResponse> getConversation(@PathVariable Long otherUserId) {
+    public ResponseEntity<ConversationResponse> getConversation(@PathVariable Long otherUserId,
+                                                                @RequestParam(required = false) Long before,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(defaultValue = "50") int limit) {
         AuthenticatedUser current = SecurityUtils.getCurrentUser();
         ConversationResponse resp = messagingService.getConversation(
                 current.id(),
                 current.campusDomain(),
-                otherUserId
+                otherUserId,
+                before,
+                after,
+                limit
         );
         return ResponseEntity.ok(resp);
     }
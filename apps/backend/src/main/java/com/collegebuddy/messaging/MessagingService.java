@@ -1,58 +1,79 @@
 package com.collegebuddy.messaging;
 
+import com.collegebuddy.blocking.BlockGraphCache;
 import com.collegebuddy.common.exceptions.MessagePermissionException;
-import com.collegebuddy.domain.Conversation;
+import com.collegebuddy.connection.ConnectionGraph;
 import com.collegebuddy.domain.Message;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.dto.ConversationListItemDto;
 import com.collegebuddy.dto.ConversationResponse;
+import com.collegebuddy.dto.InboxPageDto;
 import com.collegebuddy.dto.MessageDto;
 import com.collegebuddy.dto.SendMessageRequest;
-import com.collegebuddy.repo.BlockedUserRepository;
-import com.collegebuddy.repo.ConnectionRepository;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
+import com.collegebuddy.realtime.DirectMessageEvent;
+import com.collegebuddy.realtime.ReadReceiptEvent;
+import com.collegebuddy.realtime.RealtimeEvent;
+import com.collegebuddy.realtime.UnreadCountEvent;
+import com.collegebuddy.repo.ConversationInboxRow;
 import com.collegebuddy.repo.ConversationRepository;
 import com.collegebuddy.repo.MessageRepository;
 import com.collegebuddy.repo.UserRepository;
+import com.collegebuddy.unread.UnreadCounterStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class MessagingService {
 
     private static final Logger log = LoggerFactory.getLogger(MessagingService.class);
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+    // Matches conversations.last_message_preview
+    private static final int PREVIEW_LENGTH = 200;
+
     private final ConversationRepository conversations;
     private final MessageRepository messages;
-    private final ConnectionRepository connections;
+    private final ConnectionGraph connectionGraph;
     private final UserRepository users;
     private final ConversationHelper conversationHelper;
-    private final BlockedUserRepository blockedUsers;
-    private final com.collegebuddy.repo.ProfileRepository profiles;
+    private final BlockGraphCache blockGraph;
+    private final ApplicationEventPublisher events;
+    private final UnreadCounterStore unreadCounters;
 
     public MessagingService(ConversationRepository conversations,
                             MessageRepository messages,
-                            ConnectionRepository connections,
+                            ConnectionGraph connectionGraph,
                             UserRepository users,
                             ConversationHelper conversationHelper,
-                            BlockedUserRepository blockedUsers,
-                            com.collegebuddy.repo.ProfileRepository profiles) {
+                            BlockGraphCache blockGraph,
+                            ApplicationEventPublisher events,
+                            UnreadCounterStore unreadCounters) {
         this.conversations = conversations;
         this.messages = messages;
-        this.connections = connections;
+        this.connectionGraph = connectionGraph;
         this.users = users;
         this.conversationHelper = conversationHelper;
-        this.blockedUsers = blockedUsers;
-        this.profiles = profiles;
+        this.blockGraph = blockGraph;
+        this.events = events;
+        this.unreadCounters = unreadCounters;
     }
 
     @Transactional
@@ -71,17 +92,17 @@ public class MessagingService {
         }
 
         // Check if there's a block between users
-        if (blockedUsers.existsBlockBetween(senderId, recipientId)) {
+        if (blockGraph.isBlockBetween(senderId, recipientId)) {
             throw new MessagePermissionException("Cannot message this user");
         }
 
-        long a = Math.min(senderId, recipientId);
-        long b = Math.max(senderId, recipientId);
-
-        if (!connections.existsByUserAIdAndUserBId(a, b)) {
+        if (!connectionGraph.areConnected(senderId, recipientId)) {
             throw new MessagePermissionException("You must be connected to message this user");
         }
 
+        long a = Math.min(senderId, recipientId);
+        long b = Math.max(senderId, recipientId);
+
         // find or create conversation
         var convo = conversationHelper.findOrCreateConversation(a, b);
 
@@ -92,58 +113,89 @@ public class MessagingService {
         m.setSentAt(Instant.now());
 
         Message saved = messages.save(m);
+        conversations.recordMessage(convo.getId(), saved.getId(), preview(saved.getBody()),
+                saved.getSentAt(), senderId);
 
-        return new MessageDto(
+        MessageDto dto = new MessageDto(
                 saved.getId(),
                 saved.getSenderId(),
                 saved.getBody(),
                 saved.getSentAt()
         );
+
+        // Sender is included so their other sessions stay in sync
+        events.publishEvent(new RealtimeEvent(List.of(recipientId, senderId), RealtimeEvent.MESSAGE,
+                new DirectMessageEvent(convo.getId(), recipientId, dto)));
+        events.publishEvent(new RealtimeEvent(List.of(recipientId), RealtimeEvent.UNREAD,
+                new UnreadCountEvent(UnreadCountEvent.DIRECT, senderId,
+                        conversations.findUnreadCount(convo.getId(), recipientId))));
+
+        return dto;
     }
 
+    /**
+     * Load one page of a direct conversation, oldest message first.
+     * Without a cursor returns the newest {@code limit} messages; {@code before} scrolls back
+     * from a message id and {@code after} fetches messages newer than one.
+     */
     @Transactional
-    public ConversationResponse getConversation(Long currentUserId, String campusDomain, Long otherUserId) {
+    public ConversationResponse getConversation(Long currentUserId, String campusDomain, Long otherUserId,
+                                                Long before, Long after, int limit) {
         log.info("getConversation called: currentUserId={}, campusDomain={}, otherUserId={}",
                 currentUserId, campusDomain, otherUserId);
 
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Only one of before or after may be specified");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+
         try {
             if (Objects.equals(currentUserId, otherUserId)) {
                 throw new MessagePermissionException("Cannot load conversation with yourself");
             }
 
-            log.info("Step 1: Finding other user with id={}", otherUserId);
             User other = users.findById(otherUserId)
                     .orElseThrow(() -> new MessagePermissionException("User not found"));
-            log.info("Step 1 complete: Found user {}", other.getEmail());
 
             if (!campusDomain.equalsIgnoreCase(other.getCampusDomain())) {
                 throw new MessagePermissionException("Different campus");
             }
 
             // Check if there's a block between users
-            if (blockedUsers.existsBlockBetween(currentUserId, otherUserId)) {
+            if (blockGraph.isBlockBetween(currentUserId, otherUserId)) {
                 throw new MessagePermissionException("Cannot view conversation with this user");
             }
 
             long a = Math.min(currentUserId, otherUserId);
             long b = Math.max(currentUserId, otherUserId);
 
-            log.info("Step 2: Checking connection between userA={} and userB={}", a, b);
-            boolean connected = connections.existsByUserAIdAndUserBId(a, b);
-            log.info("Step 2 complete: Connection exists: {}", connected);
-
-            if (!connected) {
+            if (!connectionGraph.areConnected(a, b)) {
                 throw new MessagePermissionException("You must be connected to view this conversation");
             }
 
-            log.info("Step 3: Finding or creating conversation for userA={}, userB={}", a, b);
             var convo = conversationHelper.findOrCreateConversation(a, b);
-            log.info("Step 3 complete: Conversation id={}", convo.getId());
 
-            log.info("Step 4: Fetching messages for conversation id={}", convo.getId());
-            List<MessageDto> msgs = messages.findByConversationIdOrderBySentAtAsc(convo.getId())
-                    .stream()
-                    .sorted(Comparator.comparing(Message::getSentAt))
+            // One extra row tells us whether another page exists without a COUNT
+            Pageable page = PageRequest.of(0, pageSize + 1);
+            List<Message> rows;
+            if (after != null) {
+                Message cursor = findCursorMessage(convo.getId(), after);
+                rows = messages.findPageAfter(convo.getId(), cursor.getSentAt(), cursor.getId(), page);
+            } else if (before != null) {
+                Message cursor = findCursorMessage(convo.getId(), before);
+                rows = messages.findPageBefore(convo.getId(), cursor.getSentAt(), cursor.getId(), page);
+            } else {
+                rows = messages.findLatest(convo.getId(), page);
+            }
+
+            boolean hasMore = rows.size() > pageSize;
+            List<Message> pageRows = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+            if (after == null) {
+                // Newest-first pages are reversed so the client always renders oldest first
+                Collections.reverse(pageRows);
+            }
+
+            List<MessageDto> msgs = pageRows.stream()
                     .map(m -> new MessageDto(
                             m.getId(),
                             m.getSenderId(),
@@ -151,9 +203,9 @@ public class MessagingService {
                             m.getSentAt()
                     ))
                     .toList();
-            log.info("Step 4 complete: Found {} messages", msgs.size());
+            log.debug("Loaded {} messages from conversation {}, hasMore={}", msgs.size(), convo.getId(), hasMore);
 
-            return new ConversationResponse(convo.getId(), msgs);
+            return new ConversationResponse(convo.getId(), msgs, hasMore);
         } catch (Exception e) {
             log.error("Error in getConversation: currentUserId={}, otherUserId={}", currentUserId, otherUserId, e);
             throw e;
@@ -161,24 +213,18 @@ public class MessagingService {
     }
 
     /**
-     * Get unread message counts for all conversations with connected users
+     * Get unread message counts for all conversations with connected users.
+     * Served from the in-memory unread counters, no SQL once the user is cached.
      */
-    @Transactional(readOnly = true)
     public Map<Long, Long> getUnreadCounts(Long userId, List<Long> friendUserIds) {
+        Set<Long> friends = new HashSet<>(friendUserIds);
         Map<Long, Long> unreadCounts = new HashMap<>();
 
-        for (Long friendId : friendUserIds) {
-            long a = Math.min(userId, friendId);
-            long b = Math.max(userId, friendId);
-
-            var convoOpt = conversations.findByUserAIdAndUserBId(a, b);
-            if (convoOpt.isPresent()) {
-                long count = messages.countUnreadInConversation(convoOpt.get().getId(), userId);
-                if (count > 0) {
-                    unreadCounts.put(friendId, count);
-                }
+        unreadCounters.getDirectCounts(userId).forEach((otherUserId, count) -> {
+            if (friends.contains(otherUserId)) {
+                unreadCounts.put(otherUserId, count);
             }
-        }
+        });
 
         return unreadCounts;
     }
@@ -193,8 +239,18 @@ public class MessagingService {
 
         var convoOpt = conversations.findByUserAIdAndUserBId(a, b);
         if (convoOpt.isPresent()) {
-            int updated = messages.markAsRead(convoOpt.get().getId(), currentUserId, Instant.now());
+            Long conversationId = convoOpt.get().getId();
+            Instant readAt = Instant.now();
+            int updated = messages.markAsRead(conversationId, currentUserId, readAt);
+            conversations.clearUnread(conversationId, currentUserId);
             log.info("Marked {} messages as read in conversation between {} and {}", updated, currentUserId, otherUserId);
+
+            events.publishEvent(new RealtimeEvent(List.of(currentUserId), RealtimeEvent.UNREAD,
+                    new UnreadCountEvent(UnreadCountEvent.DIRECT, otherUserId, 0)));
+            if (updated > 0) {
+                events.publishEvent(new RealtimeEvent(List.of(otherUserId), RealtimeEvent.READ_RECEIPT,
+                        new ReadReceiptEvent(conversationId, currentUserId, readAt)));
+            }
         }
     }
 
@@ -203,60 +259,64 @@ public class MessagingService {
      */
     @Transactional(readOnly = true)
     public List<ConversationListItemDto> getAllConversations(Long userId, String campusDomain) {
-        // Get all conversations where user is involved
-        List<Conversation> userConversations = conversations.findAllByUserId(userId);
-
-        return userConversations.stream()
-                .map(convo -> {
-                    // Determine the other user in the conversation
-                    Long otherUserId = convo.getUserAId().equals(userId)
-                            ? convo.getUserBId()
-                            : convo.getUserAId();
-
-                    // Get the other user's details
-                    User otherUser = users.findById(otherUserId).orElse(null);
-                    if (otherUser == null) {
-                        return null; // Skip if user not found
-                    }
-
-                    // Skip if different campus
-                    if (!campusDomain.equalsIgnoreCase(otherUser.getCampusDomain())) {
-                        return null;
-                    }
-
-                    // Skip if there's a block between users
-                    if (blockedUsers.existsBlockBetween(userId, otherUserId)) {
-                        return null;
-                    }
-
-                    // Get the other user's profile
-                    var otherProfile = profiles.findById(otherUserId).orElse(null);
-                    if (otherProfile == null) {
-                        return null; // Skip if profile not found
-                    }
-
-                    // Get the last message
-                    var lastMessageOpt = messages.findLastMessageByConversationId(convo.getId());
-                    String lastMessageBody = lastMessageOpt.map(Message::getBody).orElse("");
-                    Instant lastMessageTime = lastMessageOpt.map(Message::getSentAt).orElse(null);
-
-                    // Get unread count
-                    long unreadCount = messages.countUnreadInConversation(convo.getId(), userId);
-
-                    return new ConversationListItemDto(
-                            otherUserId,
-                            otherProfile.getDisplayName(),
-                            otherProfile.getAvatarUrl(),
-                            lastMessageBody,
-                            lastMessageTime,
-                            unreadCount
-                    );
-                })
-                .filter(Objects::nonNull) // Remove null entries
-                .sorted(Comparator.comparing(
-                        ConversationListItemDto::lastMessageTime,
-                        Comparator.nullsLast(Comparator.reverseOrder())
-                )) // Sort by most recent first
-                .collect(Collectors.toList());
+        return conversations.findInbox(userId, campusDomain, Pageable.unpaged())
+                .stream()
+                .map(this::toListItem)
+                .toList();
+    }
+
+    /**
+     * Get one page of the inbox, most recent activity first.
+     * Pass the previous page's nextCursor to continue; a null nextCursor means the end.
+     */
+    @Transactional(readOnly = true)
+    public InboxPageDto getInbox(Long userId, String campusDomain, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_INBOX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        Pageable page = PageRequest.of(0, pageSize + 1);
+
+        List<ConversationInboxRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = conversations.findInbox(userId, campusDomain, page);
+        } else {
+            InboxCursor after = InboxCursor.decode(cursor);
+            rows = conversations.findInboxBefore(userId, campusDomain,
+                    after.lastActivityAt(), after.conversationId(), page);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ConversationInboxRow> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ConversationInboxRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new InboxCursor(last.lastActivityAt(), last.conversationId()).encode();
+        }
+
+        return new InboxPageDto(pageRows.stream().map(this::toListItem).toList(), nextCursor);
+    }
+
+    private ConversationListItemDto toListItem(ConversationInboxRow row) {
+        return new ConversationListItemDto(
+                row.otherUserId(),
+                row.otherUserName(),
+                AvatarUrls.rendition(row.otherUserAvatar(), AvatarSize.SMALL),
+                row.lastMessage() != null ? row.lastMessage() : "",
+                row.lastMessageTime(),
+                row.unreadCount()
+        );
+    }
+
+    private Message findCursorMessage(Long conversationId, Long messageId) {
+        return messages.findById(messageId)
+                .filter(m -> conversationId.equals(m.getConversationId()))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid message cursor"));
+    }
+
+    private static String preview(String body) {
+        if (body == null || body.length() <= PREVIEW_LENGTH) {
+            return body;
+        }
+        return body.substring(0, PREVIEW_LENGTH);
     }
 }
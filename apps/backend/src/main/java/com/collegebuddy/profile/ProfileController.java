@@ -4,6 +4,7 @@ import com.collegebuddy.dto.ProfileResponse;
 import com.collegebuddy.dto.ProfileUpdateRequest;
 import com.collegebuddy.security.AuthenticatedUser;
 import com.collegebuddy.security.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 @RestController
@@ -42,9 +45,23 @@ public class ProfileController {
     }
 
     @PostMapping("/upload-avatar")
-    public ResponseEntity<Map<String, String>> uploadAvatar(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Map<String, String>> uploadAvatar(@RequestParam("file") MultipartFile file)
+            throws IOException {
         AuthenticatedUser current = SecurityUtils.getCurrentUser();
-        String avatarUrl = profileService.uploadAvatar(current.id(), file);
+        try (InputStream content = file.getInputStream()) {
+            String avatarUrl = profileService.uploadAvatar(current.id(), content);
+            return ResponseEntity.ok(Map.of("avatarUrl", avatarUrl));
+        }
+    }
+
+    /**
+     * Upload with the image as the raw request body. Unlike the multipart endpoint,
+     * the body is streamed straight to storage rather than spooled first.
+     */
+    @PutMapping("/avatar")
+    public ResponseEntity<Map<String, String>> putAvatar(HttpServletRequest request) throws IOException {
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        String avatarUrl = profileService.uploadAvatar(current.id(), request.getInputStream());
         return ResponseEntity.ok(Map.of("avatarUrl", avatarUrl));
     }
 }
\ No newline at end of file
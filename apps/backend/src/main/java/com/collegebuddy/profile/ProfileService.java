@@ -5,13 +5,22 @@ import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.Visibility;
 import com.collegebuddy.dto.ProfileResponse;
 import com.collegebuddy.dto.ProfileUpdateRequest;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
 import com.collegebuddy.media.MediaStorageService;
+import com.collegebuddy.media.StagedUpload;
+import com.collegebuddy.media.StaleUploadException;
 import com.collegebuddy.repo.ProfileRepository;
+import com.collegebuddy.repo.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -20,13 +29,21 @@ public class ProfileService {
     private static final Logger log = LoggerFactory.getLogger(ProfileService.class);
 
     private final ProfileRepository profiles;
+    private final UserRepository users;
     private final MediaStorageService mediaStorage;
+    private final TransactionTemplate transactions;
 
-    public ProfileService(ProfileRepository profiles, MediaStorageService mediaStorage) {
+    public ProfileService(ProfileRepository profiles,
+                          UserRepository users,
+                          MediaStorageService mediaStorage,
+                          PlatformTransactionManager transactionManager) {
         this.profiles = profiles;
+        this.users = users;
         this.mediaStorage = mediaStorage;
+        this.transactions = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional
     public ProfileResponse updateProfile(Long userId, ProfileUpdateRequest request) {
         Visibility visibility = parseVisibility(request.visibility());
 
@@ -36,9 +53,17 @@ public class ProfileService {
             return p;
         });
 
+        // Clients may send back the rendition URL they were given
+        String avatarUrl = AvatarUrls.original(request.avatarUrl());
+        String oldAvatarUrl = profile.getAvatarUrl();
+        if (!Objects.equals(avatarUrl, oldAvatarUrl)) {
+            mediaStorage.retainAvatar(avatarUrl);
+            mediaStorage.releaseAvatar(oldAvatarUrl);
+        }
+
         profile.setDisplayName(request.displayName());
         profile.setBio(request.bio());
-        profile.setAvatarUrl(request.avatarUrl());
+        profile.setAvatarUrl(avatarUrl);
         profile.setVisibility(visibility);
 
         Profile saved = profiles.save(profile);
@@ -61,35 +86,58 @@ public class ProfileService {
         return toResponse(profile);
     }
 
-    public String uploadAvatar(Long userId, MultipartFile file) {
-        // Store the file using media storage strategy
-        String avatarUrl = mediaStorage.storeAvatar(file, userId);
-
-        // Update user's profile with new avatar URL
-        profiles.findById(userId).ifPresent(profile -> {
-            // Delete old avatar file if it exists
-            String oldAvatarUrl = profile.getAvatarUrl();
-            if (oldAvatarUrl != null) {
-                boolean deleted = mediaStorage.deleteFile(oldAvatarUrl);
-                if (deleted) {
-                    log.info("Deleted old avatar for user {}: {}", userId, oldAvatarUrl);
-                }
+    /**
+     * Streams the upload to storage first, outside any transaction, then swaps the
+     * profile's avatar in a short one.
+     */
+    public String uploadAvatar(Long userId, InputStream content) {
+        try (StagedUpload upload = mediaStorage.stageAvatar(content, userId)) {
+            try {
+                return transactions.execute(status -> replaceAvatar(userId, upload));
+            } catch (StaleUploadException e) {
+                // An identical image was deleted while ours was staged; store it again and retry once
+                upload.restage();
+                return transactions.execute(status -> replaceAvatar(userId, upload));
             }
+        }
+    }
 
-            // Save new avatar URL
-            profile.setAvatarUrl(avatarUrl);
-            profiles.save(profile);
-            log.info("Updated profile with new avatar URL for user {}: {}", userId, avatarUrl);
-        });
+    private String replaceAvatar(Long userId, StagedUpload upload) {
+        // Publish the file and take a reference to it
+        String avatarUrl = mediaStorage.storeAvatar(upload);
+
+        // New users upload before their first save, so the reference needs a profile to hold it
+        Profile profile = profiles.findById(userId).orElseGet(() -> newProfile(userId));
+
+        // Release the old avatar; the file is deleted after commit once no profile uses it
+        String oldAvatarUrl = profile.getAvatarUrl();
+        if (mediaStorage.releaseAvatar(oldAvatarUrl)) {
+            log.info("Old avatar for user {} will be deleted: {}", userId, oldAvatarUrl);
+        }
+
+        // Save new avatar URL
+        profile.setAvatarUrl(avatarUrl);
+        profiles.save(profile);
+        log.info("Updated profile with new avatar URL for user {}: {}", userId, avatarUrl);
 
         return avatarUrl;
     }
 
+    private Profile newProfile(Long userId) {
+        Profile profile = new Profile();
+        profile.setUserId(userId);
+        // Same fallback name the login response uses until the user picks one
+        String email = users.findById(userId).orElseThrow().getEmail();
+        profile.setDisplayName(email.split("@")[0]);
+        profile.setVisibility(Visibility.PUBLIC);
+        return profile;
+    }
+
     private ProfileResponse toResponse(Profile p) {
         return new ProfileResponse(
                 p.getDisplayName(),
                 p.getBio(),
-                p.getAvatarUrl(),
+                AvatarUrls.rendition(p.getAvatarUrl(), AvatarSize.LARGE),
                 p.getVisibility().name()
         );
     }
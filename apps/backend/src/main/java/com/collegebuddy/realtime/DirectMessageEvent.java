@@ -0,0 +1,9 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.dto.MessageDto;
+
+public record DirectMessageEvent(
+        Long conversationId,
+        Long recipientId,
+        MessageDto message
+) {}
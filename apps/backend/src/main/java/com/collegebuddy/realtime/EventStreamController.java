@@ -0,0 +1,37 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.security.AuthenticatedUser;
+import com.collegebuddy.security.JwtClaims;
+import com.collegebuddy.security.SecurityUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SSE fallback for the STOMP channel, carrying the same events.
+ * EventSource cannot set headers, so this path also accepts ?access_token=.
+ */
+@RestController
+@RequestMapping("/events")
+public class EventStreamController {
+
+    private final SseEventHub hub;
+
+    public EventStreamController(SseEventHub hub) {
+        this.hub = hub;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             HttpServletResponse response) {
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        JwtClaims token = SecurityUtils.getCurrentClaims();
+        // Stop nginx-style proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return hub.subscribe(current.id(), token.issuedAt(), token.expiresAt(), lastEventId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.groups.GroupMessageDto;
+
+public record GroupMessageEvent(
+        Long groupId,
+        GroupMessageDto message
+) {}
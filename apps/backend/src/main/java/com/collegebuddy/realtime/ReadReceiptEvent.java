@@ -0,0 +1,9 @@
+package com.collegebuddy.realtime;
+
+import java.time.Instant;
+
+public record ReadReceiptEvent(
+        Long conversationId,
+        Long readerId,
+        Instant readAt
+) {}
@@ -0,0 +1,9 @@
+package com.collegebuddy.realtime;
+
+/**
+ * Wire format of a pushed event: {"type": "...", "payload": {...}}
+ */
+public record RealtimeEnvelope(
+        String type,
+        Object payload
+) {}
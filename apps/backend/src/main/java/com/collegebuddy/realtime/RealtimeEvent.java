@@ -0,0 +1,18 @@
+package com.collegebuddy.realtime;
+
+import java.util.Collection;
+
+/**
+ * Application event describing something connected clients should be told about.
+ * Published inside the service transaction and delivered only after it commits.
+ */
+public record RealtimeEvent(
+        Collection<Long> recipientIds,
+        String type,
+        Object payload
+) {
+    public static final String MESSAGE = "message";
+    public static final String GROUP_MESSAGE = "group_message";
+    public static final String UNREAD = "unread";
+    public static final String READ_RECEIPT = "read_receipt";
+}
@@ -0,0 +1,73 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.eventbus.EventBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Routes committed RealtimeEvents through the EventBus to every node, where they
+ * are handed to each local transport (STOMP, SSE) for recipients connected there.
+ * Publishing happens after commit so clients never see a message that was rolled
+ * back; delivery is best effort and never fails the originating request.
+ */
+@Component
+public class RealtimeEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RealtimeEventDispatcher.class);
+
+    static final String CHANNEL = "realtime";
+
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final List<RealtimeTransport> transports;
+
+    public RealtimeEventDispatcher(EventBus eventBus,
+                                   ObjectMapper objectMapper,
+                                   List<RealtimeTransport> transports) {
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.transports = transports;
+        eventBus.subscribe(CHANNEL, this::deliver);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(RealtimeEvent event) {
+        try {
+            eventBus.publish(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} event", event.type(), e);
+        }
+    }
+
+    /**
+     * Payloads arrive as JSON from any node; the payload is kept as a generic tree
+     * since transports only re-serialize it.
+     */
+    void deliver(String json) {
+        RealtimeEvent event;
+        try {
+            event = objectMapper.readValue(json, RealtimeEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed realtime event", e);
+            return;
+        }
+
+        RealtimeEnvelope envelope = new RealtimeEnvelope(event.type(), event.payload());
+        for (Long recipientId : event.recipientIds()) {
+            for (RealtimeTransport transport : transports) {
+                try {
+                    transport.send(recipientId, envelope);
+                } catch (Exception e) {
+                    log.warn("Failed to push {} event to user {} via {}",
+                            event.type(), recipientId, transport.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+}
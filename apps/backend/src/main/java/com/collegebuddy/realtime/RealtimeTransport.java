@@ -0,0 +1,10 @@
+package com.collegebuddy.realtime;
+
+/**
+ * A channel that can push events to a user's connected clients on this node.
+ * Implementations must not throw for users with no live connection.
+ */
+public interface RealtimeTransport {
+
+    void send(Long userId, RealtimeEnvelope envelope);
+}
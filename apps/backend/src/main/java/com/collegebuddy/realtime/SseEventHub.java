@@ -0,0 +1,356 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.security.TokenRevocationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events transport with Last-Event-ID resume.
+ *
+ * Each user with a recent stream gets a bounded replay ring of their last events.
+ * Event ids are "{epoch}-{seq}": seq is process-wide and never reused, and epoch
+ * identifies this process, so a client resuming against a restarted node or past
+ * the end of its ring is told to resync instead of silently missing events.
+ *
+ * A stream ends when the token it was opened with expires, and is closed when
+ * TokenRevocationStore revokes that token; the client reconnects with its current
+ * token, which JwtAuthFilter checks as usual.
+ */
+@Component
+public class SseEventHub implements RealtimeTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(SseEventHub.class);
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    private final long timeoutMs;
+    private final int replaySize;
+    private final long replayTtlMs;
+    private final int maxQueued;
+
+    public SseEventHub(@Value("${collegebuddy.realtime.sse.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${collegebuddy.realtime.sse.replay-size:100}") int replaySize,
+                       @Value("${collegebuddy.realtime.sse.replay-ttl-ms:300000}") long replayTtlMs,
+                       @Value("${collegebuddy.realtime.sse.max-queued:250}") int maxQueued,
+                       TokenRevocationStore tokenRevocations) {
+        this.timeoutMs = timeoutMs;
+        this.replaySize = replaySize;
+        this.replayTtlMs = replayTtlMs;
+        // A resuming client is queued up to a full ring of replay at once
+        this.maxQueued = Math.max(maxQueued, replaySize + 1);
+        tokenRevocations.onRevoked(this::revoke);
+    }
+
+    /**
+     * Open a stream for a user, replaying anything after lastEventId first.
+     * The stream times out no later than the token it was opened with.
+     */
+    public SseEmitter subscribe(Long userId, Instant issuedAt, Instant expiresAt, String lastEventId) {
+        long untilExpiry = Math.max(expiresAt.toEpochMilli() - System.currentTimeMillis(), 1);
+        SseEmitter emitter = new SseEmitter(Math.min(timeoutMs, untilExpiry));
+        Long lastSeq = parseSeq(lastEventId);
+
+        while (true) {
+            UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream());
+            if (stream.attach(emitter, issuedAt, lastEventId != null, lastSeq)) {
+                emitter.onCompletion(() -> stream.detach(emitter));
+                emitter.onTimeout(() -> stream.detach(emitter));
+                emitter.onError(e -> stream.detach(emitter));
+                return emitter;
+            }
+            // Lost a race with eviction, retry on a fresh stream
+        }
+    }
+
+    @Override
+    public void send(Long userId, RealtimeEnvelope envelope) {
+        UserStream stream = streams.get(userId);
+        if (stream != null) {
+            stream.publish(envelope);
+        }
+        // No recent stream on this node: the client loads current state when it connects
+    }
+
+    private void revoke(Long userId, long cutoffMillis) {
+        UserStream stream = streams.get(userId);
+        if (stream != null) {
+            stream.revoke(cutoffMillis);
+        }
+    }
+
+    /**
+     * Keeps proxies from closing idle streams and drops replay rings nobody has resumed
+     */
+    @Scheduled(fixedDelayString = "${collegebuddy.realtime.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Long userId : streams.keySet()) {
+            // Only the eviction decision runs inside the map; heartbeats are queued outside it
+            UserStream stream = streams.computeIfPresent(userId, (id, s) -> s.expire(now) ? null : s);
+            if (stream != null) {
+                stream.heartbeat(now);
+            }
+        }
+    }
+
+    private Long parseSeq(String lastEventId) {
+        if (lastEventId == null) {
+            return null;
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record ReplayEntry(long seq, RealtimeEnvelope envelope) {}
+
+    /**
+     * Per-user state. All access holds the stream's lock so the ring and the order
+     * events reach each emitter always agree. Nothing under the lock touches a socket:
+     * events are queued per emitter and written by that emitter's own virtual thread,
+     * so a client with a full TCP window never stalls the thread that delivered the
+     * event (the sender's request, or the event bus dispatcher).
+     */
+    private final class UserStream {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<ReplayEntry> ring = new ArrayDeque<>();
+        private final List<Connection> connections = new ArrayList<>();
+        // Every event for this user with seq > coveredAfter is still in the ring
+        private long coveredAfter = sequence.get();
+        private long lastActiveAt = System.currentTimeMillis();
+        private boolean evicted;
+
+        boolean attach(SseEmitter emitter, Instant issuedAt, boolean resuming, Long lastSeq) {
+            lock.lock();
+            try {
+                if (evicted) {
+                    return false;
+                }
+                lastActiveAt = System.currentTimeMillis();
+                Connection connection = new Connection(emitter, issuedAt);
+                connections.add(connection);
+                if (resuming) {
+                    replay(connection, lastSeq);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void replay(Connection connection, Long lastSeq) {
+            if (lastSeq == null || lastSeq < coveredAfter || lastSeq > sequence.get()) {
+                offer(connection, () -> SseEmitter.event().name(RESYNC_EVENT).data(""));
+                return;
+            }
+            for (ReplayEntry entry : ring) {
+                if (entry.seq() > lastSeq) {
+                    offer(connection, () -> toEvent(entry));
+                }
+            }
+        }
+
+        void publish(RealtimeEnvelope envelope) {
+            lock.lock();
+            try {
+                ReplayEntry entry = new ReplayEntry(sequence.incrementAndGet(), envelope);
+                ring.addLast(entry);
+                if (ring.size() > replaySize) {
+                    coveredAfter = ring.removeFirst().seq();
+                }
+                if (!connections.isEmpty()) {
+                    lastActiveAt = System.currentTimeMillis();
+                }
+                offerAll(() -> toEvent(entry));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void detach(SseEmitter emitter) {
+            lock.lock();
+            try {
+                for (Connection connection : connections) {
+                    if (connection.emitter == emitter) {
+                        // Its writer stops at the next event
+                        connection.closed = true;
+                        connection.queue.clear();
+                        connections.remove(connection);
+                        return;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Closes the emitters opened with a token issued before :cutoffMillis
+         */
+        void revoke(long cutoffMillis) {
+            lock.lock();
+            try {
+                for (Connection connection : List.copyOf(connections)) {
+                    if (connection.issuedAt == null || connection.issuedAt.toEpochMilli() < cutoffMillis) {
+                        close(connection);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Marks the stream evicted when it has had no emitter for longer than the replay TTL.
+         *
+         * @return true if the stream should be removed
+         */
+        boolean expire(long now) {
+            lock.lock();
+            try {
+                if (connections.isEmpty() && now - lastActiveAt > replayTtlMs) {
+                    evicted = true;
+                }
+                return evicted;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void heartbeat(long now) {
+            lock.lock();
+            try {
+                if (connections.isEmpty()) {
+                    return;
+                }
+                lastActiveAt = now;
+                offerAll(() -> SseEmitter.event().comment("heartbeat"));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void offerAll(Supplier<SseEmitter.SseEventBuilder> event) {
+            // Copy: offer may drop a connection that has fallen too far behind
+            for (Connection connection : List.copyOf(connections)) {
+                offer(connection, event);
+            }
+        }
+
+        /**
+         * Queues an event for one emitter and starts its writer if it is idle.
+         * Called with the lock held.
+         */
+        private void offer(Connection connection, Supplier<SseEmitter.SseEventBuilder> event) {
+            if (connection.closed) {
+                return;
+            }
+            if (connection.queue.size() >= maxQueued) {
+                // The client is not reading; it resumes from the ring when it reconnects
+                log.debug("Dropping SSE emitter with {} unsent events", connection.queue.size());
+                close(connection);
+                return;
+            }
+            connection.queue.addLast(event);
+            if (!connection.writing) {
+                connection.writing = true;
+                Thread.ofVirtual().name("sse-writer").start(() -> write(connection));
+            }
+        }
+
+        /**
+         * Drains one emitter's queue, in order, on its writer thread
+         */
+        private void write(Connection connection) {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                lock.lock();
+                try {
+                    event = connection.closed ? null : connection.queue.pollFirst();
+                    if (event == null) {
+                        connection.writing = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    connection.emitter.send(event.get());
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping SSE emitter: {}", e.getMessage());
+                    lock.lock();
+                    try {
+                        close(connection);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Called with the lock held. Completing an emitter waits for any send in
+         * progress on it, so that happens on a virtual thread too.
+         */
+        private void close(Connection connection) {
+            if (connection.closed) {
+                return;
+            }
+            connection.closed = true;
+            connection.queue.clear();
+            connections.remove(connection);
+            Thread.ofVirtual().name("sse-close").start(connection.emitter::complete);
+        }
+
+        private SseEmitter.SseEventBuilder toEvent(ReplayEntry entry) {
+            return SseEmitter.event()
+                    .id(epoch + "-" + entry.seq())
+                    .name(entry.envelope().type())
+                    .data(entry.envelope(), MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * One open emitter and the events not yet written to it; guarded by its UserStream's lock
+     */
+    private static final class Connection {
+
+        private final SseEmitter emitter;
+        private final Instant issuedAt;
+        // Builders are single-use, so each emitter builds its own copy when writing
+        private final ArrayDeque<Supplier<SseEmitter.SseEventBuilder>> queue = new ArrayDeque<>();
+        private boolean writing;
+        private boolean closed;
+
+        Connection(SseEmitter emitter, Instant issuedAt) {
+            this.emitter = emitter;
+            this.issuedAt = issuedAt;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.common.exceptions.ForbiddenCampusAccessException;
+import com.collegebuddy.common.exceptions.UnauthorizedException;
+import com.collegebuddy.security.AuthenticatedUser;
+import com.collegebuddy.security.JwtClaims;
+import com.collegebuddy.security.JwtService;
+import com.collegebuddy.security.TokenRevocationStore;
+import io.jsonwebtoken.JwtException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Authenticates STOMP sessions with the same JWT accepted by JwtAuthFilter.
+ * The token is sent once in the CONNECT frame's Authorization header; browsers
+ * cannot set headers on the WebSocket handshake itself.
+ * Clients may only subscribe to their own /user/queue/** destinations and may
+ * not publish straight to the broker. Later frames are rejected once the CONNECT
+ * token has expired or been revoked; StompSessionRegistry closes such sessions.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final TokenRevocationStore tokenRevocations;
+    private final StompSessionRegistry sessions;
+
+    public StompAuthChannelInterceptor(JwtService jwtService,
+                                       TokenRevocationStore tokenRevocations,
+                                       StompSessionRegistry sessions) {
+        this.jwtService = jwtService;
+        this.tokenRevocations = tokenRevocations;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (StompCommand.CONNECT.equals(command)) {
+            StompPrincipal principal = authenticate(accessor.getFirstNativeHeader("Authorization"));
+            accessor.setUser(principal);
+            sessions.authenticated(accessor.getSessionId(), principal);
+        } else if (StompCommand.SUBSCRIBE.equals(command)) {
+            requireUser(accessor);
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith("/user/queue/")) {
+                throw new UnauthorizedException("Cannot subscribe to " + destination);
+            }
+        } else if (StompCommand.SEND.equals(command)) {
+            requireUser(accessor);
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith("/app/")) {
+                throw new UnauthorizedException("Cannot send to " + destination);
+            }
+        }
+        return message;
+    }
+
+    private StompPrincipal authenticate(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new UnauthorizedException("Missing JWT");
+        }
+        String token = header.substring("Bearer ".length()).trim();
+
+        JwtClaims claims;
+        try {
+            claims = jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid or expired JWT");
+        }
+        if (tokenRevocations.isRevoked(claims.userId(), claims.issuedAt())) {
+            throw new UnauthorizedException("Session has been revoked");
+        }
+
+        String campusDomain = claims.campusDomain();
+        if (campusDomain == null || campusDomain.isBlank()) {
+            throw new ForbiddenCampusAccessException("Campus domain missing or invalid");
+        }
+
+        return new StompPrincipal(new AuthenticatedUser(claims.userId(), campusDomain),
+                claims.issuedAt(), claims.expiresAt());
+    }
+
+    private void requireUser(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof StompPrincipal principal)) {
+            throw new UnauthorizedException("Not authenticated");
+        }
+        if (principal.isExpired(Instant.now())) {
+            throw new UnauthorizedException("Invalid or expired JWT");
+        }
+        if (tokenRevocations.isRevoked(principal.user().id(), principal.issuedAt())) {
+            throw new UnauthorizedException("Session has been revoked");
+        }
+    }
+}
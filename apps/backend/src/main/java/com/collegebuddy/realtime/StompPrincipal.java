@@ -0,0 +1,24 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.security.AuthenticatedUser;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * WebSocket session principal. The name is the user id so that
+ * /user/{id}/queue/** destinations resolve to that user's sessions.
+ * Carries the CONNECT token's issue and expiry times, so the session can be
+ * checked against revocations and closed when the token runs out.
+ */
+public record StompPrincipal(AuthenticatedUser user, Instant issuedAt, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return String.valueOf(user.id());
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,24 @@
+package com.collegebuddy.realtime;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers events to the user's STOMP sessions on /user/queue/events
+ */
+@Component
+public class StompRealtimeTransport implements RealtimeTransport {
+
+    static final String USER_DESTINATION = "/queue/events";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public StompRealtimeTransport(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void send(Long userId, RealtimeEnvelope envelope) {
+        messagingTemplate.convertAndSendToUser(String.valueOf(userId), USER_DESTINATION, envelope);
+    }
+}
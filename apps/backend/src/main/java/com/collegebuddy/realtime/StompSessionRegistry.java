@@ -0,0 +1,95 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.security.TokenRevocationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open STOMP WebSocket sessions and the principal each one authenticated as.
+ *
+ * A STOMP session is authenticated once, at CONNECT, and would otherwise keep
+ * receiving pushes after its user is revoked or its token expires. Sessions are
+ * closed when TokenRevocationStore moves their user's cutoff past the token's
+ * issue time, and swept once the token expires. Closing writes a close frame,
+ * so it runs on a virtual thread rather than the thread reporting the revocation.
+ */
+@Component
+public class StompSessionRegistry implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(StompSessionRegistry.class);
+
+    private record Tracked(WebSocketSession session, StompPrincipal principal) {}
+
+    // Keyed by WebSocket session id, which STOMP uses as its simpSessionId
+    private final Map<String, Tracked> sessions = new ConcurrentHashMap<>();
+
+    public StompSessionRegistry(TokenRevocationStore tokenRevocations) {
+        tokenRevocations.onRevoked(this::closeRevoked);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), new Tracked(session, null));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Records the principal a session authenticated as in its CONNECT frame
+     */
+    void authenticated(String sessionId, StompPrincipal principal) {
+        sessions.computeIfPresent(sessionId, (id, tracked) -> new Tracked(tracked.session(), principal));
+    }
+
+    /**
+     * Closes sessions whose token has expired
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void closeExpired() {
+        Instant now = Instant.now();
+        sessions.values().stream()
+                .filter(t -> t.principal() != null && t.principal().isExpired(now))
+                .forEach(t -> close(t.session(), "expired"));
+    }
+
+    private void closeRevoked(Long userId, long cutoffMillis) {
+        sessions.values().stream()
+                .filter(t -> t.principal() != null && t.principal().user().id().equals(userId))
+                .filter(t -> t.principal().issuedAt() == null
+                        || t.principal().issuedAt().toEpochMilli() < cutoffMillis)
+                .forEach(t -> close(t.session(), "revoked"));
+    }
+
+    private void close(WebSocketSession session, String reason) {
+        sessions.remove(session.getId());
+        Thread.ofVirtual().name("ws-close").start(() -> {
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason("Session " + reason));
+            } catch (IOException e) {
+                log.debug("Failed to close {} WebSocket session {}: {}", reason, session.getId(), e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.collegebuddy.realtime;
+
+/**
+ * Current unread count for one conversation partner ("direct") or group ("group")
+ */
+public record UnreadCountEvent(
+        String scope,
+        Long targetId,
+        long unreadCount
+) {
+    public static final String DIRECT = "direct";
+    public static final String GROUP = "group";
+}
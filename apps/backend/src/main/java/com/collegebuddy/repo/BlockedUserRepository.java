@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +41,18 @@ public interface BlockedUserRepository extends JpaRepository<BlockedUser, Long>
            "OR (b.blockerId = :userId2 AND b.blockedId = :userId1)")
     boolean existsBlockBetween(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
 
+    /**
+     * Every block where the user is the blocker or the blocked one
+     */
+    @Query("SELECT b FROM BlockedUser b WHERE b.blockerId = :userId OR b.blockedId = :userId")
+    List<BlockedUser> findAllInvolving(@Param("userId") Long userId);
+
+    /**
+     * Blocks created after :since, for BlockGraphCache to catch up with lost invalidations
+     */
+    @Query("SELECT b FROM BlockedUser b WHERE b.createdAt > :since")
+    List<BlockedUser> findCreatedSince(@Param("since") Instant since);
+
     /**
      * Delete a block relationship
      */
@@ -0,0 +1,9 @@
+package com.collegebuddy.repo;
+
+/**
+ * One row of the connections table without the entity around it
+ */
+public record ConnectionEdge(
+        Long userAId,
+        Long userBId
+) {}
@@ -3,6 +3,8 @@ package com.collegebuddy.repo;
 import com.collegebuddy.domain.Connection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -14,4 +16,17 @@ public interface ConnectionRepository extends JpaRepository<Connection, Long> {
 
     @Modifying
     void deleteByUserAIdAndUserBId(Long userAId, Long userBId);
+
+    /**
+     * Every connection, for building the in-memory connection graph
+     */
+    @Query("SELECT new com.collegebuddy.repo.ConnectionEdge(c.userAId, c.userBId) FROM Connection c")
+    List<ConnectionEdge> findAllEdges();
+
+    /**
+     * Ids of everyone :userId is connected to
+     */
+    @Query("SELECT CASE WHEN c.userAId = :userId THEN c.userBId ELSE c.userAId END " +
+            "FROM Connection c WHERE c.userAId = :userId OR c.userBId = :userId")
+    List<Long> findPeerIds(@Param("userId") Long userId);
 }
@@ -4,6 +4,8 @@ import com.collegebuddy.domain.ConnectionRequest;
 import com.collegebuddy.domain.ConnectionRequestStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -15,6 +17,15 @@ public interface ConnectionRequestRepository extends JpaRepository<ConnectionReq
 
     List<ConnectionRequest> findByFromUserIdAndStatus(Long fromUserId, ConnectionRequestStatus status);
 
+    /**
+     * Ids of everyone with a pending request to or from :userId
+     */
+    @Query("SELECT CASE WHEN r.fromUserId = :userId THEN r.toUserId ELSE r.fromUserId END " +
+            "FROM ConnectionRequest r " +
+            "WHERE (r.fromUserId = :userId OR r.toUserId = :userId) " +
+            "AND r.status = com.collegebuddy.domain.ConnectionRequestStatus.PENDING")
+    List<Long> findPendingPeerIds(@Param("userId") Long userId);
+
     @Modifying
     void deleteByFromUserIdAndToUserId(Long fromUserId, Long toUserId);
 }
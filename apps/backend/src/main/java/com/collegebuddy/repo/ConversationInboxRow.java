@@ -0,0 +1,18 @@
+package com.collegebuddy.repo;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of one inbox row: the conversation, the other participant's
+ * profile, the last message and the viewer's unread count, loaded in a single query.
+ */
+public record ConversationInboxRow(
+        Long conversationId,
+        Long otherUserId,
+        String otherUserName,
+        String otherUserAvatar,
+        String lastMessage,
+        Instant lastMessageTime,
+        Instant lastActivityAt,
+        Long unreadCount
+) {}
@@ -1,15 +1,35 @@
 package com.collegebuddy.repo;
 
 import com.collegebuddy.domain.Conversation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    // Inbox rows for :userId - other participant, profile and the precomputed conversation summary.
+    // Conversations with another campus or a block in either direction are filtered out in SQL.
+    String INBOX_QUERY = "SELECT new com.collegebuddy.repo.ConversationInboxRow(" +
+            "c.id, u.id, p.displayName, p.avatarUrl, c.lastMessagePreview, c.lastMessageAt, " +
+            "COALESCE(c.lastMessageAt, c.createdAt), " +
+            "CASE WHEN c.userAId = :userId THEN c.userAUnreadCount ELSE c.userBUnreadCount END) " +
+            "FROM Conversation c " +
+            "JOIN User u ON u.id = CASE WHEN c.userAId = :userId THEN c.userBId ELSE c.userAId END " +
+            "JOIN Profile p ON p.userId = u.id " +
+            "WHERE (c.userAId = :userId OR c.userBId = :userId) " +
+            "AND LOWER(u.campusDomain) = LOWER(:campusDomain) " +
+            "AND NOT EXISTS (SELECT b.id FROM BlockedUser b " +
+            "WHERE (b.blockerId = :userId AND b.blockedId = u.id) " +
+            "OR (b.blockerId = u.id AND b.blockedId = :userId)) ";
+
+    String INBOX_ORDER = "ORDER BY COALESCE(c.lastMessageAt, c.createdAt) DESC, c.id DESC";
+
     Optional<Conversation> findByUserAIdAndUserBId(Long userAId, Long userBId);
 
     @Modifying
@@ -24,4 +44,91 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
 
     @Query("SELECT c FROM Conversation c WHERE c.userAId = :userId OR c.userBId = :userId")
     List<Conversation> findAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * First inbox page, most recent activity first
+     */
+    @Query(INBOX_QUERY + INBOX_ORDER)
+    List<ConversationInboxRow> findInbox(@Param("userId") Long userId,
+                                         @Param("campusDomain") String campusDomain,
+                                         Pageable pageable);
+
+    /**
+     * Inbox page strictly after the (lastActivityAt, conversationId) keyset cursor
+     */
+    @Query(INBOX_QUERY +
+            "AND (COALESCE(c.lastMessageAt, c.createdAt) < :beforeActivity " +
+            "OR (COALESCE(c.lastMessageAt, c.createdAt) = :beforeActivity AND c.id < :beforeId)) " +
+            INBOX_ORDER)
+    List<ConversationInboxRow> findInboxBefore(@Param("userId") Long userId,
+                                               @Param("campusDomain") String campusDomain,
+                                               @Param("beforeActivity") Instant beforeActivity,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
+    /**
+     * Point the summary at a newly sent message and bump the recipient's unread count.
+     * Runs as a single row update so concurrent sends serialize on the row lock.
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, " +
+           "c.lastMessagePreview = :preview, c.lastMessageAt = :sentAt, " +
+           "c.userAUnreadCount = c.userAUnreadCount + CASE WHEN c.userAId = :senderId THEN 0 ELSE 1 END, " +
+           "c.userBUnreadCount = c.userBUnreadCount + CASE WHEN c.userBId = :senderId THEN 0 ELSE 1 END " +
+           "WHERE c.id = :conversationId")
+    int recordMessage(@Param("conversationId") Long conversationId,
+                      @Param("messageId") Long messageId,
+                      @Param("preview") String preview,
+                      @Param("sentAt") Instant sentAt,
+                      @Param("senderId") Long senderId);
+
+    /**
+     * Reset the unread count of :userId in a conversation
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+           "c.userAUnreadCount = CASE WHEN c.userAId = :userId THEN 0 ELSE c.userAUnreadCount END, " +
+           "c.userBUnreadCount = CASE WHEN c.userBId = :userId THEN 0 ELSE c.userBUnreadCount END " +
+           "WHERE c.id = :conversationId")
+    int clearUnread(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    /**
+     * Current unread count of :userId in a conversation
+     */
+    @Query("SELECT CASE WHEN c.userAId = :userId THEN c.userAUnreadCount ELSE c.userBUnreadCount END " +
+           "FROM Conversation c WHERE c.id = :conversationId")
+    long findUnreadCount(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    /**
+     * Non-zero unread counts of :userId, keyed by the other participant
+     */
+    @Query("SELECT new com.collegebuddy.repo.UnreadCountRow(" +
+           "CASE WHEN c.userAId = :userId THEN c.userBId ELSE c.userAId END, " +
+           "CASE WHEN c.userAId = :userId THEN c.userAUnreadCount ELSE c.userBUnreadCount END) " +
+           "FROM Conversation c " +
+           "WHERE (c.userAId = :userId AND c.userAUnreadCount > 0) " +
+           "OR (c.userBId = :userId AND c.userBUnreadCount > 0)")
+    List<UnreadCountRow> findUnreadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recompute every conversation summary from messages and rewrite only the rows that drifted.
+     * Same statement as the V8 backfill, PostgreSQL only.
+     */
+    @Modifying
+    @SuppressWarnings("SqlResolve")
+    @Query(value = "UPDATE conversations c " +
+            "SET last_message_id = s.last_message_id, last_message_preview = s.preview, " +
+            "last_message_at = s.sent_at, user_a_unread_count = s.a_unread, user_b_unread_count = s.b_unread " +
+            "FROM (SELECT c2.id, lm.id AS last_message_id, LEFT(lm.body, 200) AS preview, lm.sent_at, " +
+            "(SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c2.id " +
+            "AND m.sender_id <> c2.user_a_id AND m.read_at IS NULL) AS a_unread, " +
+            "(SELECT COUNT(*) FROM messages m WHERE m.conversation_id = c2.id " +
+            "AND m.sender_id <> c2.user_b_id AND m.read_at IS NULL) AS b_unread " +
+            "FROM conversations c2 " +
+            "LEFT JOIN LATERAL (SELECT id, body, sent_at FROM messages WHERE conversation_id = c2.id " +
+            "ORDER BY sent_at DESC, id DESC LIMIT 1) lm ON TRUE) s " +
+            "WHERE s.id = c.id AND (c.last_message_id IS DISTINCT FROM s.last_message_id " +
+            "OR c.user_a_unread_count <> s.a_unread OR c.user_b_unread_count <> s.b_unread)",
+            nativeQuery = true)
+    int repairSummaries();
 }
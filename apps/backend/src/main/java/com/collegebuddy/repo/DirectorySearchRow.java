@@ -0,0 +1,13 @@
+package com.collegebuddy.repo;
+
+import com.collegebuddy.domain.Profile;
+import com.collegebuddy.domain.User;
+
+/**
+ * One campus directory search hit: the user and their profile (null when the
+ * user has not created one yet), loaded in a single query.
+ */
+public record DirectorySearchRow(
+        User user,
+        Profile profile
+) {}
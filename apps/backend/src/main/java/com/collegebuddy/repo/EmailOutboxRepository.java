@@ -0,0 +1,41 @@
+package com.collegebuddy.repo;
+
+import com.collegebuddy.domain.EmailOutboxStatus;
+import com.collegebuddy.domain.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Pending emails due by :now, oldest first, locked for the caller's transaction.
+     * Rows another node has locked are skipped (lock timeout -2 is SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e " +
+            "WHERE e.status = com.collegebuddy.domain.EmailOutboxStatus.PENDING " +
+            "AND e.nextAttemptAt <= :now " +
+            "ORDER BY e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDueForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    /**
+     * Drop delivered emails sent before :cutoff; dead ones are kept for inspection
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e " +
+            "WHERE e.status = com.collegebuddy.domain.EmailOutboxStatus.SENT AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") Instant cutoff);
+}
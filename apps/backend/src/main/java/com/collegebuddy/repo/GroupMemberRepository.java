@@ -3,6 +3,8 @@ package com.collegebuddy.repo;
 import com.collegebuddy.domain.GroupMember;
 import com.collegebuddy.domain.GroupRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +13,9 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 
     List<GroupMember> findByGroupId(Long groupId);
 
+    @Query("SELECT m.userId FROM GroupMember m WHERE m.groupId = :groupId")
+    List<Long> findUserIdsByGroupId(@Param("groupId") Long groupId);
+
     List<GroupMember> findByUserId(Long userId);
 
     Optional<GroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
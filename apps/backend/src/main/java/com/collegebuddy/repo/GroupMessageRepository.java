@@ -1,6 +1,7 @@
 package com.collegebuddy.repo;
 
 import com.collegebuddy.domain.GroupMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,8 +11,27 @@ import java.util.Optional;
 
 public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long> {
 
-    @Query("SELECT m FROM GroupMessage m WHERE m.groupId = :groupId ORDER BY m.sentAt ASC")
-    List<GroupMessage> findByGroupIdOrderBySentAtAsc(@Param("groupId") Long groupId);
+    /**
+     * Newest messages in a group, newest first
+     */
+    @Query("SELECT m FROM GroupMessage m WHERE m.groupId = :groupId ORDER BY m.id DESC")
+    List<GroupMessage> findLatest(@Param("groupId") Long groupId, Pageable pageable);
+
+    /**
+     * Keyset page of messages older than :beforeId, newest first
+     */
+    @Query("SELECT m FROM GroupMessage m WHERE m.groupId = :groupId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<GroupMessage> findPageBefore(@Param("groupId") Long groupId,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    /**
+     * Keyset page of messages newer than :afterId, oldest first
+     */
+    @Query("SELECT m FROM GroupMessage m WHERE m.groupId = :groupId AND m.id > :afterId ORDER BY m.id ASC")
+    List<GroupMessage> findPageAfter(@Param("groupId") Long groupId,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
 
     /**
      * Get the latest message ID for a group
@@ -20,15 +40,22 @@ public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long
     Optional<Long> findLatestMessageIdByGroupId(@Param("groupId") Long groupId);
 
     /**
-     * Count unread messages in a group for a specific user
-     * Counts messages sent after the user's last read message (or all messages if never read)
+     * The highest group message id, or 0 when there are none
+     */
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM GroupMessage m")
+    long findMaxId();
+
+    /**
+     * Unread counts for every group :userId belongs to, in one grouped query.
+     * Groups with nothing unread are omitted.
      */
-    @Query("SELECT COUNT(m) FROM GroupMessage m WHERE m.groupId = :groupId " +
-           "AND (:lastReadMessageId IS NULL OR m.id > :lastReadMessageId) " +
-           "AND m.senderId != :userId")
-    long countUnreadMessagesInGroup(@Param("groupId") Long groupId,
-                                     @Param("userId") Long userId,
-                                     @Param("lastReadMessageId") Long lastReadMessageId);
+    @Query("SELECT new com.collegebuddy.repo.UnreadCountRow(gm.groupId, COUNT(m)) " +
+           "FROM GroupMember gm JOIN GroupMessage m ON m.groupId = gm.groupId " +
+           "WHERE gm.userId = :userId " +
+           "AND (gm.lastReadMessageId IS NULL OR m.id > gm.lastReadMessageId) " +
+           "AND m.senderId <> :userId " +
+           "GROUP BY gm.groupId")
+    List<UnreadCountRow> countUnreadByUserId(@Param("userId") Long userId);
 
     /**
      * Get the last message in a group
@@ -0,0 +1,36 @@
+package com.collegebuddy.repo;
+
+import com.collegebuddy.domain.MediaObject;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    @Modifying
+    @SuppressWarnings("SqlResolve") // IDE cannot resolve table at design-time
+    @Query(value = "INSERT INTO media_objects (path, ref_count, created_at) " +
+            "VALUES (:path, 0, NOW()) " +
+            "ON CONFLICT (path) DO NOTHING", nativeQuery = true)
+    void insertIfNotExists(@Param("path") String path);
+
+    /**
+     * The row for :path, locked until the caller's transaction ends. Reference changes,
+     * publishing an upload and the purge of an unreferenced file happen under this lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MediaObject m WHERE m.path = :path")
+    Optional<MediaObject> findForUpdate(@Param("path") String path);
+
+    /**
+     * Files whose last reference was released, waiting for MediaStorageService to purge them
+     */
+    @Query("SELECT m.path FROM MediaObject m WHERE m.refCount = 0")
+    List<String> findUnreferencedPaths();
+}
@@ -1,16 +1,40 @@
 package com.collegebuddy.repo;
 
 import com.collegebuddy.domain.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByConversationIdOrderBySentAtAsc(Long conversationId);
+
+    // Newest messages first; callers reverse the page for display
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findLatest(@Param("conversationId") Long conversationId, Pageable pageable);
+
+    // Keyset page of messages older than the (sentAt, id) cursor, newest first
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId " +
+           "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findPageBefore(@Param("conversationId") Long conversationId,
+                                 @Param("sentAt") Instant sentAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    // Keyset page of messages newer than the (sentAt, id) cursor, oldest first
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId " +
+           "AND (m.sentAt > :sentAt OR (m.sentAt = :sentAt AND m.id > :id)) " +
+           "ORDER BY m.sentAt ASC, m.id ASC")
+    List<Message> findPageAfter(@Param("conversationId") Long conversationId,
+                                @Param("sentAt") Instant sentAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
 
     @Modifying
     void deleteByConversationId(Long conversationId);
@@ -24,7 +48,7 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Modifying
     @Query("UPDATE Message m SET m.readAt = :readAt " +
            "WHERE m.conversationId = :conversationId AND m.senderId != :userId AND m.readAt IS NULL")
-    int markAsRead(@Param("conversationId") Long conversationId, @Param("userId") Long userId, @Param("readAt") java.time.Instant readAt);
+    int markAsRead(@Param("conversationId") Long conversationId, @Param("userId") Long userId, @Param("readAt") Instant readAt);
 
     // Get the last message in a conversation
     @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.sentAt DESC LIMIT 1")
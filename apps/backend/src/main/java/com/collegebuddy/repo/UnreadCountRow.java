@@ -0,0 +1,9 @@
+package com.collegebuddy.repo;
+
+/**
+ * Unread count for one target: the other participant of a direct conversation, or a group
+ */
+public record UnreadCountRow(
+        Long targetId,
+        Long unreadCount
+) {}
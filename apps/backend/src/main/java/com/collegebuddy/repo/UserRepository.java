@@ -2,8 +2,13 @@ package com.collegebuddy.repo;
 
 import com.collegebuddy.domain.AccountStatus;
 import com.collegebuddy.domain.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +18,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByCampusDomainAndStatus(String campusDomain, AccountStatus status);
 
     long countByStatus(AccountStatus status);
+
+    /**
+     * Every active user with their profile, for building the typeahead index
+     */
+    @Query("SELECT new com.collegebuddy.repo.DirectorySearchRow(u, p) " +
+            "FROM User u LEFT JOIN Profile p ON p.userId = u.id " +
+            "WHERE u.status = com.collegebuddy.domain.AccountStatus.ACTIVE")
+    List<DirectorySearchRow> findActiveDirectoryEntries();
+
+    /**
+     * A single user with their profile, whatever their status
+     */
+    @Query("SELECT new com.collegebuddy.repo.DirectorySearchRow(u, p) " +
+            "FROM User u LEFT JOIN Profile p ON p.userId = u.id " +
+            "WHERE u.id = :userId")
+    Optional<DirectorySearchRow> findDirectoryEntry(@Param("userId") Long userId);
+
+    /**
+     * Users whose tokens were revoked after :cutoff, for loading TokenRevocationStore
+     */
+    @Query("SELECT u FROM User u WHERE u.tokensValidAfter > :cutoff")
+    List<User> findWithTokensRevokedSince(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Campus directory search. Active users on :campusDomain whose display name (or email,
+     * for users without a profile) contains :contains, minus private profiles other than the
+     * requester's own and users who have blocked the requester. Exact and prefix matches
+     * rank first, then word-prefix matches, then the rest alphabetically.
+     *
+     * Patterns must already be lower-cased and LIKE-escaped with '\'.
+     */
+    @Query("SELECT new com.collegebuddy.repo.DirectorySearchRow(u, p) " +
+            "FROM User u LEFT JOIN Profile p ON p.userId = u.id " +
+            "WHERE u.campusDomain = :campusDomain " +
+            "AND u.status = com.collegebuddy.domain.AccountStatus.ACTIVE " +
+            "AND (p.userId IS NULL OR p.visibility <> com.collegebuddy.domain.Visibility.PRIVATE " +
+            "OR u.id = :requesterId) " +
+            "AND NOT EXISTS (SELECT b.id FROM BlockedUser b " +
+            "WHERE b.blockerId = u.id AND b.blockedId = :requesterId) " +
+            "AND (:matchAll = true " +
+            "OR u.id IN (SELECT m.userId FROM Profile m WHERE LOWER(m.displayName) LIKE :contains ESCAPE '\\') " +
+            "OR (p.userId IS NULL AND LOWER(u.email) LIKE :contains ESCAPE '\\')) " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(COALESCE(p.displayName, u.email)) LIKE :prefix ESCAPE '\\' THEN 0 " +
+            "WHEN LOWER(COALESCE(p.displayName, u.email)) LIKE :wordPrefix ESCAPE '\\' THEN 1 " +
+            "ELSE 2 END, " +
+            "LOWER(COALESCE(p.displayName, u.email)), u.id")
+    Slice<DirectorySearchRow> searchDirectory(@Param("campusDomain") String campusDomain,
+                                              @Param("requesterId") Long requesterId,
+                                              @Param("matchAll") boolean matchAll,
+                                              @Param("contains") String contains,
+                                              @Param("prefix") String prefix,
+                                              @Param("wordPrefix") String wordPrefix,
+                                              Pageable pageable);
 }
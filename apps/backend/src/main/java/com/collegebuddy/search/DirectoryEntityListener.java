@@ -0,0 +1,32 @@
+package com.collegebuddy.search;
+
+import com.collegebuddy.domain.Profile;
+import com.collegebuddy.domain.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Reports every write to a user or profile row to the TypeaheadIndex, whichever
+ * service made it (profile edits, email verification, admin status changes).
+ *
+ * Hibernate creates listeners through Spring while the EntityManagerFactory is
+ * still being built, so the index is looked up lazily.
+ */
+public class DirectoryEntityListener {
+
+    private final ObjectProvider<TypeaheadIndex> typeaheadIndex;
+
+    public DirectoryEntityListener(ObjectProvider<TypeaheadIndex> typeaheadIndex) {
+        this.typeaheadIndex = typeaheadIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        Long userId = entity instanceof Profile profile ? profile.getUserId() : ((User) entity).getId();
+        typeaheadIndex.ifAvailable(index -> index.userChanged(userId));
+    }
+}
@@ -2,22 +2,31 @@ package com.collegebuddy.search;
 
 import com.collegebuddy.dto.SearchRequest;
 import com.collegebuddy.dto.SearchResultDto;
+import com.collegebuddy.dto.TypeaheadSuggestionDto;
 import com.collegebuddy.security.AuthenticatedUser;
 import com.collegebuddy.security.SecurityUtils;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/search")
 public class SearchController {
 
+    private static final int MAX_TYPEAHEAD_LIMIT = 20;
+
     private final SearchService searchService;
+    private final TypeaheadIndex typeaheadIndex;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, TypeaheadIndex typeaheadIndex) {
         this.searchService = searchService;
+        this.typeaheadIndex = typeaheadIndex;
     }
 
     @PostMapping
@@ -30,4 +39,17 @@ public class SearchController {
         );
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Name suggestions while typing, served from memory
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> typeahead(@RequestParam String q,
+                                                                  @RequestParam(defaultValue = "8") int limit) {
+        if (limit < 1 || limit > MAX_TYPEAHEAD_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TYPEAHEAD_LIMIT);
+        }
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        return ResponseEntity.ok(typeaheadIndex.suggest(current.campusDomain(), current.id(), q, limit));
+    }
 }
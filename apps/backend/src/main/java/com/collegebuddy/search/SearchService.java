@@ -1,76 +1,68 @@
 package com.collegebuddy.search;
 
-import com.collegebuddy.domain.AccountStatus;
-import com.collegebuddy.domain.Profile;
-import com.collegebuddy.domain.User;
-import com.collegebuddy.domain.Visibility;
 import com.collegebuddy.dto.SearchRequest;
 import com.collegebuddy.dto.SearchResultDto;
 import com.collegebuddy.dto.UserDto;
 import com.collegebuddy.dto.UserDtoMapper;
-import com.collegebuddy.repo.BlockedUserRepository;
-import com.collegebuddy.repo.ProfileRepository;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.repo.DirectorySearchRow;
 import com.collegebuddy.repo.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+
     private final UserRepository users;
-    private final ProfileRepository profiles;
     private final UserDtoMapper userDtoMapper;
-    private final BlockedUserRepository blockedUsers;
 
     public SearchService(UserRepository users,
-                         ProfileRepository profiles,
-                         UserDtoMapper userDtoMapper,
-                         BlockedUserRepository blockedUsers) {
+                         UserDtoMapper userDtoMapper) {
         this.users = users;
-        this.profiles = profiles;
         this.userDtoMapper = userDtoMapper;
-        this.blockedUsers = blockedUsers;
     }
 
     public SearchResultDto searchCampusDirectory(String campusDomain, Long requesterId, SearchRequest request) {
-        String query = request.query() != null ? request.query().toLowerCase(Locale.ROOT) : "";
-
-        // 1. only ACTIVE users from same campus
-        List<User> campusUsers = users.findByCampusDomainAndStatus(campusDomain, AccountStatus.ACTIVE);
-
-        // 2. load all profiles for those users
-        List<Long> userIds = campusUsers.stream().map(User::getId).toList();
-        List<Profile> campusProfiles = profiles.findAllById(userIds);
+        String query = request.query() != null ? request.query().trim().toLowerCase(Locale.ROOT) : "";
+        int page = request.page() != null ? request.page() : 0;
+        int size = request.size() != null ? request.size() : DEFAULT_PAGE_SIZE;
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
 
-        // index profiles by userId
-        var profilesByUserId = campusProfiles.stream()
-                .collect(Collectors.toMap(Profile::getUserId, p -> p));
+        // Everyone in the directory shares the campus domain, so a query matching it matches everyone
+        boolean matchAll = query.isEmpty() || campusDomain.toLowerCase(Locale.ROOT).contains(query);
+        String escaped = escapeLike(query);
 
-        // 3. build UserDto list with visibility + query filter + block filter
-        List<UserDto> results = userDtoMapper.toDtoList(campusUsers, profilesByUserId)
-                .stream()
-                .filter(dto -> {
-                    // Only exclude users who have blocked the requester
-                    // Allow users that the requester has blocked (they'll see them with "Blocked" tag in UI)
-                    if (blockedUsers.existsByBlockerIdAndBlockedId(dto.id(), requesterId)) {
-                        return false;
-                    }
+        // Campus, status, visibility and "blocked me" filtering all happen in the query;
+        // users the requester has blocked stay visible (the UI tags them as blocked)
+        Slice<DirectorySearchRow> rows = users.searchDirectory(
+                campusDomain,
+                requesterId,
+                matchAll,
+                "%" + escaped + "%",
+                escaped + "%",
+                "% " + escaped + "%",
+                PageRequest.of(page, size)
+        );
 
-                    // visibility rules – PRIVATE profiles only visible to owner
-                    if ("PRIVATE".equalsIgnoreCase(dto.profileVisibility()) && !dto.id().equals(requesterId)) {
-                        return false;
-                    }
-
-                    // query filter – simple contains on displayName or campusDomain
-                    if (query.isBlank()) return true;
-                    String name = dto.displayName() != null ? dto.displayName().toLowerCase(Locale.ROOT) : "";
-                    return name.contains(query) || dto.campusDomain().toLowerCase(Locale.ROOT).contains(query);
-                })
+        List<UserDto> results = rows.getContent().stream()
+                .map(row -> userDtoMapper.toDto(row.user(), row.profile(), AvatarSize.SMALL))
                 .toList();
 
-        return new SearchResultDto(results);
+        return new SearchResultDto(results, page, rows.hasNext());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 }
@@ -0,0 +1,382 @@
+package com.collegebuddy.search;
+
+import com.collegebuddy.blocking.BlockGraphCache;
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.domain.AccountStatus;
+import com.collegebuddy.domain.Profile;
+import com.collegebuddy.domain.User;
+import com.collegebuddy.domain.Visibility;
+import com.collegebuddy.dto.TypeaheadSuggestionDto;
+import com.collegebuddy.eventbus.EventBus;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
+import com.collegebuddy.repo.DirectorySearchRow;
+import com.collegebuddy.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory prefix index over campus directory names, for search-as-you-type.
+ *
+ * Each campus holds a sorted array of normalized name tokens with a parallel array of
+ * user ids, so a lookup is a binary search plus a scan over the matching range. The
+ * arrays are copy-on-write: queries never lock, and a change to one user is a single
+ * array merge.
+ *
+ * The index is loaded from the database once the application is ready. After that,
+ * DirectoryEntityListener reports every user/profile write; after commit this node
+ * reloads that one user and the user id goes out on the EventBus so the other nodes
+ * do the same. In case an event was lost the whole index is rebuilt every
+ * collegebuddy.search.typeahead.rebuild-ms.
+ */
+@Component
+public class TypeaheadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadIndex.class);
+
+    static final String CHANGED_CHANNEL = "directory_changed";
+
+    // Very short prefixes match a large slice of a campus; rank within the first hits only
+    private static final int MAX_CANDIDATES = 500;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::rank)
+            .thenComparing(c -> c.entry().displayName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(c -> c.entry().userId());
+
+    private final UserRepository users;
+    private final BlockGraphCache blockGraph;
+    private final EventBus eventBus;
+
+    private final Map<String, CampusIndex> campuses = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // Users changed while a load was running, reloaded once it is installed
+    private Set<Long> changedDuringLoad; // guarded by this
+
+    public TypeaheadIndex(UserRepository users,
+                          BlockGraphCache blockGraph,
+                          EventBus eventBus) {
+        this.users = users;
+        this.blockGraph = blockGraph;
+        this.eventBus = eventBus;
+        eventBus.subscribe(CHANGED_CHANNEL, userId -> reload(Long.valueOf(userId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            changedDuringLoad = new HashSet<>();
+        }
+
+        Map<String, List<Entry>> byCampus = users.findActiveDirectoryEntries().stream()
+                .map(row -> Entry.of(row.user(), row.profile()))
+                .collect(Collectors.groupingBy(Entry::campusDomain));
+        Map<String, CampusIndex> builtCampuses = new HashMap<>();
+        Map<Long, Entry> builtEntries = new HashMap<>();
+        byCampus.forEach((campus, campusEntries) -> {
+            builtCampuses.put(campus, CampusIndex.of(campusEntries));
+            campusEntries.forEach(entry -> builtEntries.put(entry.userId(), entry));
+        });
+
+        Set<Long> replay;
+        synchronized (this) {
+            // Swap entries rather than clearing, so queries never see an empty index
+            entries.putAll(builtEntries);
+            entries.keySet().retainAll(builtEntries.keySet());
+            campuses.putAll(builtCampuses);
+            campuses.keySet().retainAll(builtCampuses.keySet());
+            replay = changedDuringLoad;
+            changedDuringLoad = null;
+        }
+        replay.forEach(this::reload);
+
+        log.info("Typeahead index loaded: {} users across {} campuses", builtEntries.size(), byCampus.size());
+    }
+
+    /**
+     * Catches up with any change whose event never arrived
+     */
+    @Scheduled(
+            initialDelayString = "${collegebuddy.search.typeahead.rebuild-ms:1800000}",
+            fixedDelayString = "${collegebuddy.search.typeahead.rebuild-ms:1800000}"
+    )
+    public void rebuild() {
+        load();
+    }
+
+    /**
+     * Reload a user here, and on every other node, once the current transaction commits
+     */
+    public void userChanged(Long userId) {
+        AfterCommit.run(() -> {
+            try {
+                reload(userId);
+            } catch (RuntimeException e) {
+                // Already committed; the next rebuild picks it up
+                log.warn("Failed to reload typeahead entry of user {}", userId, e);
+            }
+            eventBus.publishToPeers(CHANGED_CHANNEL, String.valueOf(userId));
+        });
+    }
+
+    /**
+     * Up to :limit users on the campus whose name has a word starting with each word of
+     * the query. Names that start with the query rank first, then alphabetical. Private
+     * profiles (other than the requester's own) and users who blocked the requester are
+     * left out.
+     */
+    public List<TypeaheadSuggestionDto> suggest(String campusDomain, Long requesterId, String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        CampusIndex index = campuses.get(campusDomain);
+        if (queryTokens.length == 0 || index == null) {
+            return List.of();
+        }
+
+        // Scan the range of the most selective query token, check the others per candidate
+        String anchor = Arrays.stream(queryTokens).max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> seen = new HashSet<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = index.lowerBound(anchor);
+             i < index.tokens.length && index.tokens[i].startsWith(anchor) && candidates.size() < MAX_CANDIDATES;
+             i++) {
+            long userId = index.userIds[i];
+            if (!seen.add(userId)) {
+                continue;
+            }
+            Entry entry = entries.get(userId);
+            if (entry == null || !entry.campusDomain().equals(campusDomain)) {
+                continue;
+            }
+            if (entry.privateProfile() && userId != requesterId) {
+                continue;
+            }
+            if (entry.matchesAll(queryTokens)) {
+                candidates.add(new Candidate(entry, entry.tokens()[0].startsWith(queryTokens[0]) ? 0 : 1));
+            }
+        }
+        candidates.sort(RANKING);
+
+        List<TypeaheadSuggestionDto> results = new ArrayList<>(limit);
+        for (Candidate candidate : candidates) {
+            Entry entry = candidate.entry();
+            if (blockGraph.isBlockedBy(requesterId, entry.userId())) {
+                continue;
+            }
+            results.add(new TypeaheadSuggestionDto(entry.userId(), entry.displayName(), entry.avatarUrl()));
+            if (results.size() == limit) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    private void reload(Long userId) {
+        synchronized (this) {
+            // During a load the snapshot may predate this change, so it is replayed afterwards
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(userId);
+            }
+            Entry entry = users.findDirectoryEntry(userId)
+                    .filter(row -> row.user().getStatus() == AccountStatus.ACTIVE)
+                    .map(row -> Entry.of(row.user(), row.profile()))
+                    .orElse(null);
+
+            Entry previous = entry != null ? entries.put(userId, entry) : entries.remove(userId);
+            if (previous != null) {
+                campuses.computeIfPresent(previous.campusDomain(), (campus, index) -> index.without(userId));
+            }
+            if (entry != null) {
+                campuses.compute(entry.campusDomain(),
+                        (campus, index) -> (index != null ? index : CampusIndex.EMPTY).with(entry));
+            }
+        }
+    }
+
+    /**
+     * Lower-cased, accent-folded words of a name, in order of appearance
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private record Entry(long userId,
+                         String campusDomain,
+                         String displayName,
+                         String avatarUrl,
+                         boolean privateProfile,
+                         String[] tokens) {
+
+        static Entry of(User user, Profile profile) {
+            // Same fallback as UserDtoMapper, but only the local part of the email is searchable
+            String displayName = profile != null && profile.getDisplayName() != null
+                    ? profile.getDisplayName()
+                    : user.getEmail();
+            String searchable = profile != null && profile.getDisplayName() != null
+                    ? displayName
+                    : user.getEmail().substring(0, Math.max(user.getEmail().indexOf('@'), 0));
+            String[] tokens = tokenize(searchable);
+            return new Entry(
+                    user.getId(),
+                    user.getCampusDomain(),
+                    displayName,
+                    profile != null ? AvatarUrls.rendition(profile.getAvatarUrl(), AvatarSize.SMALL) : null,
+                    profile != null && profile.getVisibility() == Visibility.PRIVATE,
+                    tokens.length > 0 ? tokens : new String[]{""}
+            );
+        }
+
+        boolean matchesAll(String[] queryTokens) {
+            for (String queryToken : queryTokens) {
+                boolean matched = false;
+                for (String token : tokens) {
+                    if (token.startsWith(queryToken)) {
+                        matched = true;
+                        break;
+                    }
+                }
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Candidate(Entry entry, int rank) {}
+
+    /**
+     * Immutable (token, userId) pairs sorted by token then user id
+     */
+    private static final class CampusIndex {
+
+        static final CampusIndex EMPTY = new CampusIndex(new String[0], new long[0]);
+
+        final String[] tokens;
+        final long[] userIds;
+
+        private CampusIndex(String[] tokens, long[] userIds) {
+            this.tokens = tokens;
+            this.userIds = userIds;
+        }
+
+        static CampusIndex of(List<Entry> entries) {
+            List<Posting> postings = new ArrayList<>();
+            for (Entry entry : entries) {
+                for (String token : entry.tokens()) {
+                    postings.add(new Posting(token, entry.userId()));
+                }
+            }
+            postings.sort(null);
+
+            String[] tokens = new String[postings.size()];
+            long[] userIds = new long[postings.size()];
+            for (int i = 0; i < postings.size(); i++) {
+                tokens[i] = postings.get(i).token();
+                userIds[i] = postings.get(i).userId();
+            }
+            return new CampusIndex(tokens, userIds);
+        }
+
+        /**
+         * First position whose token is >= prefix
+         */
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = tokens.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tokens[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        CampusIndex without(long userId) {
+            int kept = 0;
+            for (long id : userIds) {
+                if (id != userId) {
+                    kept++;
+                }
+            }
+            String[] newTokens = new String[kept];
+            long[] newUserIds = new long[kept];
+            for (int i = 0, j = 0; i < userIds.length; i++) {
+                if (userIds[i] != userId) {
+                    newTokens[j] = tokens[i];
+                    newUserIds[j++] = userIds[i];
+                }
+            }
+            return new CampusIndex(newTokens, newUserIds);
+        }
+
+        CampusIndex with(Entry entry) {
+            String[] added = entry.tokens().clone();
+            Arrays.sort(added);
+
+            int size = tokens.length + added.length;
+            String[] newTokens = new String[size];
+            long[] newUserIds = new long[size];
+            int i = 0;
+            int a = 0;
+            for (int k = 0; k < size; k++) {
+                boolean takeExisting = a == added.length
+                        || (i < tokens.length && new Posting(tokens[i], userIds[i])
+                                .compareTo(new Posting(added[a], entry.userId())) <= 0);
+                if (takeExisting) {
+                    newTokens[k] = tokens[i];
+                    newUserIds[k] = userIds[i++];
+                } else {
+                    newTokens[k] = added[a++];
+                    newUserIds[k] = entry.userId();
+                }
+            }
+            return new CampusIndex(newTokens, newUserIds);
+        }
+    }
+
+    private record Posting(String token, long userId) implements Comparable<Posting> {
+        @Override
+        public int compareTo(Posting other) {
+            int byToken = token.compareTo(other.token);
+            return byToken != 0 ? byToken : Long.compare(userId, other.userId);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.collegebuddy.security;
+
+import com.collegebuddy.common.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a (deliberately slow) PasswordEncoder on a small dedicated pool, so a burst of
+ * logins or signups can use at most that many cores and the rest of the API keeps
+ * running.
+ *
+ * The calling thread still waits for the result, but the work is bounded twice: a
+ * fixed number of hashing threads and a short queue in front of them. When the queue
+ * is full, or a queued call waits longer than the timeout, the call fails at once
+ * with ServiceBusyException (503 with Retry-After) instead of piling up.
+ *
+ * Meters: collegebuddy.password.hash (operation=encode|matches), time spent hashing;
+ * collegebuddy.password.hash.queue, calls waiting for a thread;
+ * collegebuddy.password.hash.rejected, calls turned away.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  MeterRegistry meterRegistry,
+                                  int threads,
+                                  int queueCapacity,
+                                  long timeoutMs) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("collegebuddy.password.hash").tag("operation", "encode")
+                .description("Time spent hashing a password").register(meterRegistry);
+        this.matchesTimer = Timer.builder("collegebuddy.password.hash").tag("operation", "matches")
+                .description("Time spent verifying a password").register(meterRegistry);
+        this.rejected = Counter.builder("collegebuddy.password.hash.rejected")
+                .description("Password hashing calls rejected because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("collegebuddy.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing calls waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Called by Spring when the context closes
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ServiceBusyException busy() {
+        return new ServiceBusyException("Too many sign-in requests right now, please try again shortly",
+                RETRY_AFTER_SECONDS);
+    }
+}
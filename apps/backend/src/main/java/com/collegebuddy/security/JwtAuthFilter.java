@@ -2,6 +2,7 @@ package com.collegebuddy.security;
 
 import com.collegebuddy.common.exceptions.ForbiddenCampusAccessException;
 import com.collegebuddy.common.exceptions.UnauthorizedException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,9 +20,11 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRevocationStore tokenRevocations;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService, TokenRevocationStore tokenRevocations) {
         this.jwtService = jwtService;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
@@ -39,23 +42,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain chain)
             throws ServletException, IOException {
 
-        String header = request.getHeader("Authorization");
-
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring("Bearer ".length()).trim();
+        String token = resolveToken(request);
 
-            if (!jwtService.validateToken(token)) {
+        if (token != null) {
+            JwtClaims claims;
+            try {
+                claims = jwtService.verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 throw new UnauthorizedException("Invalid or expired JWT");
             }
+            if (tokenRevocations.isRevoked(claims.userId(), claims.issuedAt())) {
+                throw new UnauthorizedException("Session has been revoked");
+            }
 
-            Long userId = jwtService.extractUserId(token);
-            String campusDomain = jwtService.extractCampusDomain(token);
-
+            String campusDomain = claims.campusDomain();
             if (campusDomain == null || campusDomain.isBlank()) {
                 throw new ForbiddenCampusAccessException("Campus domain missing or invalid");
             }
 
-            AuthenticatedUser principal = new AuthenticatedUser(userId, campusDomain);
+            AuthenticatedUser principal = new AuthenticatedUser(claims.userId(), campusDomain);
 
             AbstractAuthenticationToken auth =
                     new AbstractAuthenticationToken(List.of(new SimpleGrantedAuthority("ROLE_USER"))) {
@@ -69,6 +74,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                             return principal;
                         }
                     };
+            auth.setDetails(claims);
             auth.setAuthenticated(true);
 
             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -76,4 +82,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            return header.substring("Bearer ".length()).trim();
+        }
+        // EventSource cannot send headers; accept the token as a query param on the stream only
+        if (request.getRequestURI().equals("/events/stream")) {
+            String param = request.getParameter("access_token");
+            return param != null && !param.isBlank() ? param.trim() : null;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,16 @@
+package com.collegebuddy.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a token whose signature and expiry have been verified
+ */
+public record JwtClaims(
+        Long userId,
+        String campusDomain,
+        String role,
+        String email,
+        String displayName,
+        Instant issuedAt,
+        Instant expiresAt
+) {}
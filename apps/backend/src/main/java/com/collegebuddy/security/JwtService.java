@@ -1,8 +1,11 @@
 package com.collegebuddy.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,7 +13,12 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -28,11 +36,15 @@ public class JwtService {
     @Value("${collegebuddy.jwt.ttlSeconds:3600}")
     private long ttlSeconds;
 
-    private Key signingKey() {
-        // Decode the Base64 secret and build an HMAC-SHA key, as recommended for HS256. :contentReference[oaicite:4]{index=4}
-        byte[] keyBytes = Decoders.BASE64.decode(secretBase64);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    // How many recently verified tokens to remember
+    @Value("${collegebuddy.jwt.verified-cache-size:50000}")
+    private long verifiedCacheSize = 50_000;
+
+    // iat only has second precision; revocation checks compare this instead when present
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
+    // Built on first use, once the @Value fields are in place, then kept for the bean's lifetime
+    private volatile Verifier verifier;
 
     public String issueToken(Long userId, String campusDomain, String role, String email, String displayName) {
         Instant now = Instant.now();
@@ -44,41 +56,132 @@ public class JwtService {
                         "campusDomain", campusDomain,
                         "role", role,
                         "email", email,
-                        "displayName", displayName
+                        "displayName", displayName,
+                        ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli()
                 ))
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(exp))
-                .signWith(signingKey(), SignatureAlgorithm.HS256)
+                .signWith(verifier().signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verify signature and expiry once and return the typed claims.
+     * A token verified earlier is answered from memory until it expires.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtClaims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new JwtException("Missing token");
+        }
+        Verifier verifier = verifier();
+        ByteBuffer digest = digest(token);
+
+        JwtClaims cached = verifier.verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Claims body = verifier.parser.parseClaimsJws(token).getBody();
+        JwtClaims claims = new JwtClaims(
+                Long.parseLong(body.getSubject()),
+                body.get("campusDomain", String.class),
+                body.get("role", String.class),
+                body.get("email", String.class),
+                body.get("displayName", String.class),
+                issuedAt(body),
+                body.getExpiration().toInstant()
+        );
+        verifier.verified.put(digest, claims);
+        return claims;
+    }
+
     public boolean validateToken(String token) {
         try {
-            Jws<Claims> parsed = parseClaims(token);
-            // If parsing didn’t throw, signature+exp are valid
-            return parsed.getBody().getExpiration().after(new Date());
+            verify(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             // expired, malformed, bad signature, etc.
             return false;
         }
     }
 
-    private Jws<Claims> parseClaims(String token) {
-        // The modern JJWT API uses parserBuilder() + setSigningKey(...). :contentReference[oaicite:5]{index=5}
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey())
-                .build()
-                .parseClaimsJws(token);
-    }
-
     public Long extractUserId(String token) {
-        Jws<Claims> parsed = parseClaims(token);
-        return Long.parseLong(parsed.getBody().getSubject());
+        return verify(token).userId();
     }
 
     public String extractCampusDomain(String token) {
-        Jws<Claims> parsed = parseClaims(token);
-        Object claim = parsed.getBody().get("campusDomain");
-        return claim != null ? claim.toString() : null;
+        return verify(token).campusDomain();
+    }
+
+    private static Instant issuedAt(Claims body) {
+        if (body.get(ISSUED_AT_MILLIS_CLAIM) instanceof Number millis) {
+            return Instant.ofEpochMilli(millis.longValue());
+        }
+        return body.getIssuedAt() != null ? body.getIssuedAt().toInstant() : null;
+    }
+
+    private Verifier verifier() {
+        Verifier current = verifier;
+        if (current == null) {
+            synchronized (this) {
+                current = verifier;
+                if (current == null) {
+                    current = new Verifier(Decoders.BASE64.decode(secretBase64), verifiedCacheSize);
+                    verifier = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * SHA-256 of the token, so the cache never holds usable bearer tokens
+     */
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Signing key, parser and verified-token cache, derived from the secret once
+     */
+    private static final class Verifier {
+
+        final Key signingKey;
+        final JwtParser parser;
+        final Cache<ByteBuffer, JwtClaims> verified;
+
+        Verifier(byte[] secret, long cacheSize) {
+            // HMAC-SHA key from the Base64 secret, as recommended for HS256
+            this.signingKey = Keys.hmacShaKeyFor(secret);
+            this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+            this.verified = Caffeine.newBuilder()
+                    .maximumSize(cacheSize)
+                    .expireAfter(new Expiry<ByteBuffer, JwtClaims>() {
+                        @Override
+                        public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+                            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(ByteBuffer key, JwtClaims claims, long currentTime,
+                                                      long currentDuration) {
+                            return expireAfterCreate(key, claims, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(ByteBuffer key, JwtClaims claims, long currentTime,
+                                                    long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
     }
 }
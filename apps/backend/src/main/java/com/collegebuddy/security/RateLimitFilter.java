@@ -0,0 +1,153 @@
+package com.collegebuddy.security;
+
+import com.collegebuddy.common.ErrorResponse;
+import com.collegebuddy.common.ErrorResponseFactory;
+import com.collegebuddy.common.exceptions.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Token-bucket limits on the endpoints worth abusing: credential and email endpoints
+ * per client IP, and message/connection writes per signed-in user.
+ *
+ * Runs right after JwtAuthFilter, so an over-limit request gets its 429 (with
+ * Retry-After) before any database query or password hash. Each rule has its own
+ * buckets, e.g. a burst of failed logins does not use up the forgot-password allowance.
+ *
+ * Client IPs come from request.getRemoteAddr(), which the server resolves from
+ * X-Forwarded-For set by the load balancer (server.forward-headers-strategy). A whole
+ * campus network can sit behind one NAT address, so the per-IP auth defaults allow a
+ * lecture hall signing in at once; they are there to stop scripted floods, not to
+ * count a single user's password attempts.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private record Rule(String name, Pattern path, boolean perUser, TokenBucketRateLimiter limiter, Counter rejected) {
+    }
+
+    private final ErrorResponseFactory errorResponseFactory;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<Rule> rules;
+
+    public RateLimitFilter(ErrorResponseFactory errorResponseFactory,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${collegebuddy.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${collegebuddy.rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${collegebuddy.rate-limit.auth.capacity:60}") int authCapacity,
+                           @Value("${collegebuddy.rate-limit.auth.per-minute:30}") int authPerMinute,
+                           @Value("${collegebuddy.rate-limit.writes.capacity:30}") int writeCapacity,
+                           @Value("${collegebuddy.rate-limit.writes.per-minute:60}") int writePerMinute) {
+        this.errorResponseFactory = errorResponseFactory;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        // One cache per policy; keys are prefixed with the rule name
+        TokenBucketRateLimiter auth = new TokenBucketRateLimiter(authCapacity, authPerMinute, maxKeys);
+        TokenBucketRateLimiter writes = new TokenBucketRateLimiter(writeCapacity, writePerMinute, maxKeys);
+        this.rules = List.of(
+                rule(meterRegistry, "login", "/auth/login", false, auth),
+                rule(meterRegistry, "signup", "/auth/signup", false, auth),
+                rule(meterRegistry, "forgot-password", "/auth/forgot-password", false, auth),
+                rule(meterRegistry, "direct-message", "/messages/send", true, writes),
+                rule(meterRegistry, "group-message", "/groups/[^/]+/messages", true, writes),
+                rule(meterRegistry, "connection-request", "/connections/request", true, writes)
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        Rule rule = match(request.getRequestURI());
+        String key = rule == null ? null : clientKey(rule, request);
+
+        if (key != null) {
+            long waitNanos = rule.limiter().tryAcquire(rule.name() + ":" + key);
+            if (waitNanos > 0) {
+                rule.rejected().increment();
+                reject(request, response, rule, waitNanos);
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private Rule match(String path) {
+        for (Rule rule : rules) {
+            if (rule.path().matcher(path).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // Per-user rules skip anonymous requests; those are rejected by authorization anyway
+    private static String clientKey(Rule rule, HttpServletRequest request) {
+        if (!rule.perUser()) {
+            return request.getRemoteAddr();
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return String.valueOf(user.id());
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Rule rule, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.info("Rate limit '{}' exceeded, retry after {}s", rule.name(), retryAfterSeconds);
+
+        RateLimitExceededException ex = new RateLimitExceededException(
+                "Too many requests, please try again later", retryAfterSeconds);
+        ErrorResponse error = errorResponseFactory.createErrorResponse(ex, request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static Rule rule(MeterRegistry meterRegistry, String name, String path, boolean perUser,
+                             TokenBucketRateLimiter limiter) {
+        Counter rejected = Counter.builder("collegebuddy.rate-limit.rejected")
+                .tag("rule", name)
+                .description("Requests turned away by a rate limit")
+                .register(meterRegistry);
+        return new Rule(name, Pattern.compile(path), perUser, limiter, rejected);
+    }
+}
@@ -25,4 +25,15 @@ public final class SecurityUtils {
 
         throw new UnauthorizedException("Unexpected principal type");
     }
+
+    /**
+     * Claims of the JWT the current request authenticated with
+     */
+    public static JwtClaims getCurrentClaims() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getDetails() instanceof JwtClaims claims) {
+            return claims;
+        }
+        throw new UnauthorizedException("No authenticated user");
+    }
 }
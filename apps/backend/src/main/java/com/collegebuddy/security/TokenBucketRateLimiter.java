@@ -0,0 +1,67 @@
+package com.collegebuddy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets: up to :capacity requests at once, refilled at :perMinute.
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the
+ * GCRA form of a token bucket): a request is allowed if that time is no more than
+ * one burst ahead of now, and pushes it forward by one refill interval. Acquiring is
+ * one CAS, with no lock and no background refill.
+ *
+ * Buckets live in a size-bounded Caffeine cache. A bucket untouched for a full burst
+ * window is full again, so it is dropped then; under memory pressure the least
+ * recently used keys go first, which only ever resets a bucket to full.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, int perMinute, long maxKeys) {
+        this(capacity, perMinute, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int perMinute, long maxKeys, LongSupplier clock) {
+        if (capacity < 1 || perMinute < 1) {
+            throw new IllegalArgumentException("capacity and perMinute must be positive");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos + intervalNanos))
+                .build();
+    }
+
+    /**
+     * Take one token for :key.
+     *
+     * @return 0 if the request is allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long ahead = start - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.collegebuddy.security;
+
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.domain.User;
+import com.collegebuddy.eventbus.EventBus;
+import com.collegebuddy.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-user "tokens issued before" cutoffs, so JwtAuthFilter can reject the JWTs of a
+ * deactivated, deleted or password-reset account with a map lookup instead of a query.
+ *
+ * A revocation stamps users.tokens_valid_after (so it survives a restart); after commit
+ * this node applies it directly and it goes out on the EventBus for the others. Since an
+ * event can be lost, recent cutoffs are also reloaded from the table every
+ * collegebuddy.jwt.revocation-reload-ms. Only cutoffs younger than the token lifetime
+ * matter; older ones are skipped on load and purged from memory, which keeps the map
+ * down to the handful of accounts revoked in the last hour.
+ *
+ * Cutoffs and issue times are compared in milliseconds (JwtService adds an iatMs claim
+ * because iat has second precision), so a token issued just before a revocation is
+ * rejected and a login straight after a password reset is not.
+ *
+ * Connections that authenticated once and then stay open (STOMP sessions, SSE streams)
+ * register with onRevoked and are closed when their user's cutoff moves forward.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    // Payload is userId:epochMilli (the channel was renamed when it switched from seconds)
+    static final String REVOKED_CHANNEL = "tokens_revoked_ms";
+
+    private final UserRepository users;
+    private final EventBus eventBus;
+    private final long ttlSeconds;
+
+    // userId -> epoch millisecond; tokens issued before it are rejected
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    private final List<BiConsumer<Long, Long>> listeners = new CopyOnWriteArrayList<>();
+
+    public TokenRevocationStore(UserRepository users,
+                                EventBus eventBus,
+                                @Value("${collegebuddy.jwt.ttlSeconds:3600}") long ttlSeconds) {
+        this.users = users;
+        this.eventBus = eventBus;
+        this.ttlSeconds = ttlSeconds;
+        eventBus.subscribe(REVOKED_CHANNEL, payload -> {
+            int separator = payload.indexOf(':');
+            apply(Long.valueOf(payload.substring(0, separator)), Long.parseLong(payload.substring(separator + 1)));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Token revocations loaded: {} users", reload());
+    }
+
+    /**
+     * Catches up with any revocation whose event never arrived
+     */
+    @Scheduled(
+            initialDelayString = "${collegebuddy.jwt.revocation-reload-ms:60000}",
+            fixedDelayString = "${collegebuddy.jwt.revocation-reload-ms:60000}"
+    )
+    public void reconcile() {
+        reload();
+    }
+
+    private int reload() {
+        // Revocations published while this runs are applied directly and merged by max
+        Instant cutoff = Instant.now().minusSeconds(ttlSeconds);
+        int loaded = 0;
+        for (User user : users.findWithTokensRevokedSince(cutoff)) {
+            apply(user.getId(), user.getTokensValidAfter().toEpochMilli());
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * Revoke every token issued to :user so far. Stamps the entity, which the caller
+     * saves; every node starts rejecting once the current transaction commits.
+     */
+    public void revokeAll(User user) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        user.setTokensValidAfter(now);
+        publish(user.getId(), now);
+    }
+
+    /**
+     * Revoke every token issued to a user whose row is being deleted, so nothing is persisted
+     */
+    public void revokeAll(Long userId) {
+        publish(userId, Instant.now());
+    }
+
+    /**
+     * Whether a token for :userId issued at :issuedAt has been revoked. Tokens without
+     * an issued-at claim are treated as revoked once the user has any cutoff.
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Long cutoff = notBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.toEpochMilli() < cutoff);
+    }
+
+    /**
+     * Calls :listener with the user id and the new cutoff (epoch milliseconds) whenever a
+     * user's cutoff moves forward on this node, whether the revocation was made here,
+     * arrived from a peer or was caught up by a reload. Listeners run on the thread that
+     * applied it (a committing request, the event bus or the scheduler), so they must not block.
+     */
+    public void onRevoked(BiConsumer<Long, Long> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Drop cutoffs older than the token lifetime; every token they reject has expired
+     */
+    @Scheduled(fixedDelay = 600_000)
+    public void purgeExpired() {
+        long oldest = Instant.now().minusSeconds(ttlSeconds).toEpochMilli();
+        notBefore.values().removeIf(cutoff -> cutoff < oldest);
+    }
+
+    private void publish(Long userId, Instant revokedAt) {
+        long epochMilli = revokedAt.toEpochMilli();
+        AfterCommit.run(() -> {
+            apply(userId, epochMilli);
+            eventBus.publishToPeers(REVOKED_CHANNEL, userId + ":" + epochMilli);
+        });
+    }
+
+    private void apply(Long userId, long epochMilli) {
+        boolean[] advanced = new boolean[1];
+        notBefore.compute(userId, (id, current) -> {
+            if (current != null && current >= epochMilli) {
+                return current;
+            }
+            advanced[0] = true;
+            return epochMilli;
+        });
+        if (!advanced[0]) {
+            return;
+        }
+        for (BiConsumer<Long, Long> listener : listeners) {
+            try {
+                listener.accept(userId, epochMilli);
+            } catch (RuntimeException e) {
+                log.warn("Revocation listener failed for user {}", userId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.collegebuddy.unread;
+
+import com.collegebuddy.dto.UnreadBadgeDto;
+import com.collegebuddy.security.AuthenticatedUser;
+import com.collegebuddy.security.SecurityUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/unread")
+public class UnreadController {
+
+    private final UnreadCounterStore unreadCounters;
+
+    public UnreadController(UnreadCounterStore unreadCounters) {
+        this.unreadCounters = unreadCounters;
+    }
+
+    /**
+     * GET /unread/badge
+     * Combined unread counts for direct conversations and groups, served from memory
+     */
+    @GetMapping("/badge")
+    public ResponseEntity<UnreadBadgeDto> getBadge() {
+        AuthenticatedUser current = SecurityUtils.getCurrentUser();
+        Map<Long, Long> direct = unreadCounters.getDirectCounts(current.id());
+        Map<Long, Long> groups = unreadCounters.getGroupCounts(current.id());
+        long total = direct.values().stream().mapToLong(Long::longValue).sum()
+                + groups.values().stream().mapToLong(Long::longValue).sum();
+        return ResponseEntity.ok(new UnreadBadgeDto(total, direct, groups));
+    }
+}
@@ -0,0 +1,177 @@
+package com.collegebuddy.unread;
+
+import com.collegebuddy.common.AfterCommit;
+import com.collegebuddy.eventbus.EventBus;
+import com.collegebuddy.realtime.GroupMessageEvent;
+import com.collegebuddy.realtime.RealtimeEnvelope;
+import com.collegebuddy.realtime.RealtimeEvent;
+import com.collegebuddy.realtime.RealtimeTransport;
+import com.collegebuddy.realtime.UnreadCountEvent;
+import com.collegebuddy.repo.ConversationRepository;
+import com.collegebuddy.repo.GroupMessageRepository;
+import com.collegebuddy.repo.UnreadCountRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-user unread counters for direct conversations and groups, held in a bounded cache.
+ *
+ * A miss rebuilds the user's counters with one query against the conversation summaries
+ * and one grouped query over group messages. After that, counters follow the realtime
+ * stream: the absolute direct count published on every send, a bump per group message,
+ * and a zero when something is marked read. The store listens as a RealtimeTransport, so
+ * every node applies the same events via the EventBus. Entries expire after a fixed time
+ * so any drift (e.g. an event lost while a node reconnects) heals itself.
+ *
+ * Events are applied through the cache's map, so an event that arrives while the entry
+ * is loading waits for the load and is then applied to its result. Group bumps are
+ * relative, so each entry records the highest group message id its load could see;
+ * a bump for a message at or below it was already counted and is ignored.
+ */
+@Component
+public class UnreadCounterStore implements RealtimeTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCounterStore.class);
+
+    static final String INVALIDATE_CHANNEL = "unread_invalidate";
+
+    private final ConversationRepository conversations;
+    private final GroupMessageRepository groupMessages;
+    private final TransactionTemplate loadTransactions;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, UserCounters> cache;
+
+    public UnreadCounterStore(ConversationRepository conversations,
+                              GroupMessageRepository groupMessages,
+                              PlatformTransactionManager transactionManager,
+                              EventBus eventBus,
+                              ObjectMapper objectMapper,
+                              @Value("${collegebuddy.unread.cache.max-users:100000}") long maxUsers,
+                              @Value("${collegebuddy.unread.cache.ttl-ms:600000}") long ttlMs) {
+        this.conversations = conversations;
+        this.groupMessages = groupMessages;
+        // One snapshot for the counts and the high-water mark, so they agree on which messages exist
+        this.loadTransactions = new TransactionTemplate(transactionManager);
+        this.loadTransactions.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.loadTransactions.setReadOnly(true);
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        eventBus.subscribe(INVALIDATE_CHANNEL, userId -> cache.invalidate(Long.valueOf(userId)));
+    }
+
+    /**
+     * Unread counts keyed by the other participant's user id
+     */
+    public Map<Long, Long> getDirectCounts(Long userId) {
+        return Map.copyOf(counters(userId).direct);
+    }
+
+    /**
+     * Unread counts keyed by group id
+     */
+    public Map<Long, Long> getGroupCounts(Long userId) {
+        return Map.copyOf(counters(userId).groups);
+    }
+
+    /**
+     * Drop a user's counters on every node once the current transaction commits,
+     * e.g. after group membership changes
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> eventBus.publish(INVALIDATE_CHANNEL, String.valueOf(userId)));
+    }
+
+    @Override
+    public void send(Long userId, RealtimeEnvelope envelope) {
+        switch (envelope.type()) {
+            case RealtimeEvent.UNREAD -> {
+                UnreadCountEvent event = objectMapper.convertValue(envelope.payload(), UnreadCountEvent.class);
+                update(userId, counters -> {
+                    Map<Long, Long> target = UnreadCountEvent.GROUP.equals(event.scope())
+                            ? counters.groups
+                            : counters.direct;
+                    set(target, event.targetId(), event.unreadCount());
+                });
+            }
+            case RealtimeEvent.GROUP_MESSAGE -> {
+                GroupMessageEvent event = objectMapper.convertValue(envelope.payload(), GroupMessageEvent.class);
+                if (!userId.equals(event.message().senderId())) {
+                    update(userId, counters -> {
+                        if (event.message().id() > counters.groupsLoadedThrough) {
+                            counters.groups.merge(event.groupId(), 1L, Long::sum);
+                        }
+                    });
+                }
+            }
+            default -> {
+                // Other events do not change unread counts
+            }
+        }
+    }
+
+    /**
+     * Applies an event to a cached user's counters; everyone else is rebuilt on demand
+     */
+    private void update(Long userId, Consumer<UserCounters> change) {
+        cache.asMap().computeIfPresent(userId, (id, counters) -> {
+            change.accept(counters);
+            return counters;
+        });
+    }
+
+    private UserCounters counters(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    private UserCounters load(Long userId) {
+        UserCounters counters = loadTransactions.execute(status -> {
+            UserCounters loaded = new UserCounters(groupMessages.findMaxId());
+            for (UnreadCountRow row : conversations.findUnreadByUserId(userId)) {
+                loaded.direct.put(row.targetId(), row.unreadCount());
+            }
+            for (UnreadCountRow row : groupMessages.countUnreadByUserId(userId)) {
+                loaded.groups.put(row.targetId(), row.unreadCount());
+            }
+            return loaded;
+        });
+        log.debug("Loaded unread counters for user {}", userId);
+        return counters;
+    }
+
+    private static void set(Map<Long, Long> counts, Long targetId, long value) {
+        if (value > 0) {
+            counts.put(targetId, value);
+        } else {
+            counts.remove(targetId);
+        }
+    }
+
+    private static final class UserCounters {
+        private final Map<Long, Long> direct = new ConcurrentHashMap<>();
+        private final Map<Long, Long> groups = new ConcurrentHashMap<>();
+        // Group messages up to this id were visible to the load
+        private final long groupsLoadedThrough;
+
+        private UserCounters(long groupsLoadedThrough) {
+            this.groupsLoadedThrough = groupsLoadedThrough;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- V10__add_group_message_history_index.sql
+-- Composite index backing keyset-paginated group history:
+-- WHERE group_id = ? AND id < ? ORDER BY id DESC
+
+CREATE INDEX idx_group_messages_group_id_id ON group_messages(group_id, id);
+
+-- Covered by the composite index above
+DROP INDEX IF EXISTS idx_group_messages_group;
@@ -0,0 +1,12 @@
+-- V11__create_event_bus_overflow.sql
+-- Short-lived storage for event bus payloads too large for a NOTIFY (8000 byte limit).
+-- Rows are read by every node on delivery and purged after a few minutes.
+
+CREATE TABLE event_bus_overflow (
+    id BIGSERIAL PRIMARY KEY,
+    channel VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_event_bus_overflow_created_at ON event_bus_overflow(created_at);
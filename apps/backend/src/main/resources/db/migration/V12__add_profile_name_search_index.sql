@@ -0,0 +1,7 @@
+-- V12__add_profile_name_search_index.sql
+-- Trigram index backing campus directory search:
+-- WHERE LOWER(display_name) LIKE '%query%'
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_profiles_display_name_trgm ON profiles USING GIN (LOWER(display_name) gin_trgm_ops);
@@ -0,0 +1,7 @@
+-- V13__add_user_tokens_valid_after.sql
+-- JWTs issued before this instant are rejected (deactivation, password reset).
+-- Loaded at startup for the users revoked within the last token lifetime.
+
+ALTER TABLE users ADD COLUMN tokens_valid_after TIMESTAMP;
+
+CREATE INDEX idx_users_tokens_valid_after ON users(tokens_valid_after) WHERE tokens_valid_after IS NOT NULL;
@@ -0,0 +1,21 @@
+-- V14__create_email_outbox.sql
+-- Outgoing emails, written in the same transaction as the token they carry and
+-- delivered by background workers. Failed sends are retried with backoff; rows
+-- that keep failing stay behind as DEAD for inspection.
+
+CREATE TABLE email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    sent_at TIMESTAMP
+);
+
+-- Backs the dispatcher's "due" scan: WHERE status = 'PENDING' AND next_attempt_at <= ?
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at) WHERE status = 'PENDING';
@@ -0,0 +1,12 @@
+-- V15__create_media_objects.sql
+-- Reference counts for content-addressed uploads (files named by the SHA-256 of
+-- their bytes). Identical images are stored once; the file is deleted when the
+-- last profile referencing it lets go. Files without a row (external URLs,
+-- anything not uploaded through the counted path) are never deleted; V16
+-- backfills rows for avatars uploaded before this table existed.
+
+CREATE TABLE media_objects (
+    path VARCHAR(255) PRIMARY KEY,
+    ref_count INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
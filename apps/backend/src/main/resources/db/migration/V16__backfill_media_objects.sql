@@ -0,0 +1,11 @@
+-- V16__backfill_media_objects.sql
+-- Avatars uploaded before reference counting have no media_objects row. Files
+-- without a row are no longer deleted at all (a profile may point at any URL), so
+-- give every local avatar still in use a row counting the profiles that use it.
+
+INSERT INTO media_objects (path, ref_count, created_at)
+SELECT avatar_url, COUNT(*), NOW()
+FROM profiles
+WHERE avatar_url LIKE '/uploads/avatars/%' AND LENGTH(avatar_url) <= 255
+GROUP BY avatar_url
+ON CONFLICT (path) DO NOTHING;
@@ -0,0 +1,5 @@
+-- V17__add_blocked_users_created_at_index.sql
+-- Backs BlockGraphCache's periodic scan for recently created blocks:
+-- WHERE created_at > ?
+
+CREATE INDEX idx_blocked_created_at ON blocked_users(created_at);
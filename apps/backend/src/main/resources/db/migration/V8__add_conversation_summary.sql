@@ -0,0 +1,42 @@
+-- V8__add_conversation_summary.sql
+-- Denormalized per-conversation summary so inbox and unread badges read one row
+-- instead of scanning messages. Maintained by MessagingService on every write.
+
+ALTER TABLE conversations ADD COLUMN last_message_id BIGINT NULL;
+ALTER TABLE conversations ADD COLUMN last_message_preview VARCHAR(200) NULL;
+ALTER TABLE conversations ADD COLUMN last_message_at TIMESTAMP NULL;
+ALTER TABLE conversations ADD COLUMN user_a_unread_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE conversations ADD COLUMN user_b_unread_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from existing messages
+UPDATE conversations c
+SET last_message_id = s.last_message_id,
+    last_message_preview = s.preview,
+    last_message_at = s.sent_at,
+    user_a_unread_count = s.a_unread,
+    user_b_unread_count = s.b_unread
+FROM (
+    SELECT c2.id,
+           lm.id AS last_message_id,
+           LEFT(lm.body, 200) AS preview,
+           lm.sent_at,
+           (SELECT COUNT(*) FROM messages m
+            WHERE m.conversation_id = c2.id AND m.sender_id <> c2.user_a_id AND m.read_at IS NULL) AS a_unread,
+           (SELECT COUNT(*) FROM messages m
+            WHERE m.conversation_id = c2.id AND m.sender_id <> c2.user_b_id AND m.read_at IS NULL) AS b_unread
+    FROM conversations c2
+    LEFT JOIN LATERAL (
+        SELECT id, body, sent_at FROM messages
+        WHERE conversation_id = c2.id
+        ORDER BY sent_at DESC, id DESC
+        LIMIT 1
+    ) lm ON TRUE
+) s
+WHERE s.id = c.id;
+
+CREATE INDEX idx_conversations_user_a_last_message ON conversations(user_a_id, last_message_at DESC);
+CREATE INDEX idx_conversations_user_b_last_message ON conversations(user_b_id, last_message_at DESC);
+
+COMMENT ON COLUMN conversations.last_message_preview IS 'First 200 characters of the latest message body';
+COMMENT ON COLUMN conversations.user_a_unread_count IS 'Messages from user_b not yet read by user_a';
+COMMENT ON COLUMN conversations.user_b_unread_count IS 'Messages from user_a not yet read by user_b';
@@ -0,0 +1,8 @@
+-- V9__add_message_history_index.sql
+-- Composite index backing keyset-paginated conversation history:
+-- WHERE conversation_id = ? AND (sent_at, id) < (?, ?) ORDER BY sent_at DESC, id DESC
+
+CREATE INDEX idx_messages_conversation_sent_at_id ON messages(conversation_id, sent_at, id);
+
+-- Covered by the composite index above
+DROP INDEX IF EXISTS idx_messages_conversation;
@@ -0,0 +1,111 @@
+package com.collegebuddy.email;
+
+import com.collegebuddy.testutil.FakeSmtpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledSmtpEmailDeliveryStrategyTest {
+
+    private FakeSmtpServer smtpServer;
+    private MeterRegistry meterRegistry;
+    private PooledSmtpEmailDeliveryStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        smtpServer = new FakeSmtpServer();
+        meterRegistry = new SimpleMeterRegistry();
+        strategy = strategy(100);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        strategy.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    void sendAll_shouldSendWholeBatchOverOneConnection() {
+        List<EmailDeliveryResult> results = strategy.sendAll(messages("a", "b", "c", "d", "e"));
+
+        assertThat(results).allMatch(EmailDeliveryResult::isSent);
+        assertThat(smtpServer.getDeliveredRecipients())
+                .containsExactly("a@cpp.edu", "b@cpp.edu", "c@cpp.edu", "d@cpp.edu", "e@cpp.edu");
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(counter("collegebuddy.email.smtp.messages", "result", "sent")).isEqualTo(5);
+    }
+
+    @Test
+    void sendAll_shouldReuseConnectionAcrossBatches() {
+        strategy.sendAll(messages("a", "b"));
+        strategy.send(message("c"));
+
+        assertThat(smtpServer.getDeliveredRecipients()).hasSize(3);
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(counter("collegebuddy.email.smtp.connections", "event", "opened")).isEqualTo(1);
+        assertThat(counter("collegebuddy.email.smtp.connections", "event", "reused")).isEqualTo(1);
+    }
+
+    @Test
+    void sendAll_rejectedRecipient_shouldOnlyFailThatMessage() {
+        List<EmailDeliveryResult> results = strategy.sendAll(messages("a", "rejected", "b"));
+
+        assertThat(results).extracting(EmailDeliveryResult::isSent).containsExactly(true, false, true);
+        assertThat(smtpServer.getDeliveredRecipients()).containsExactly("a@cpp.edu", "b@cpp.edu");
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(counter("collegebuddy.email.smtp.messages", "result", "failed")).isEqualTo(1);
+    }
+
+    @Test
+    void sendAll_shouldRotateConnectionAfterMessageLimit() {
+        strategy.shutdown();
+        strategy = strategy(2);
+
+        List<EmailDeliveryResult> results = strategy.sendAll(messages("a", "b", "c", "d", "e"));
+
+        assertThat(results).allMatch(EmailDeliveryResult::isSent);
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void sendAll_unreachableRelay_shouldFailEveryMessage() throws Exception {
+        smtpServer.close();
+
+        List<EmailDeliveryResult> results = strategy.sendAll(messages("a", "b"));
+
+        assertThat(results).noneMatch(EmailDeliveryResult::isSent);
+    }
+
+    private PooledSmtpEmailDeliveryStrategy strategy(int maxMessagesPerConnection) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.getPort());
+        return new PooledSmtpEmailDeliveryStrategy(mailSender, meterRegistry, "noreply@collegebuddy.app",
+                2, maxMessagesPerConnection, 30_000);
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    private static List<EmailMessage> messages(String... localParts) {
+        return Arrays.stream(localParts).map(PooledSmtpEmailDeliveryStrategyTest::message).toList();
+    }
+
+    private static EmailMessage message(String localPart) {
+        return EmailMessage.builder()
+                .to(localPart + "@cpp.edu")
+                .subject("Verify your CollegeBuddy account")
+                .body("<p>Hello</p>")
+                .html(true)
+                .build();
+    }
+}
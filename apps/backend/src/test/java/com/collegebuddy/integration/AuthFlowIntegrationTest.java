@@ -11,7 +11,9 @@ import com.collegebuddy.dto.ResendVerificationRequest;
 import com.collegebuddy.dto.ResetPasswordRequest;
 import com.collegebuddy.dto.SignupRequest;
 import com.collegebuddy.dto.VerifyEmailRequest;
+import com.collegebuddy.domain.Role;
 import com.collegebuddy.testutil.BaseIntegrationTest;
+import com.collegebuddy.testutil.JwtTestUtils;
 import com.collegebuddy.testutil.TestDataFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -283,6 +285,40 @@ class AuthFlowIntegrationTest extends BaseIntegrationTest {
             }
         }
 
+        @Test
+        @DisplayName("should reject tokens issued before the reset")
+        void passwordReset_shouldRevokeEarlierTokens() throws Exception {
+            User user = TestDataFactory.createActiveUser("revoke@campus.edu", "campus.edu");
+            user = userRepository.save(user);
+            String oldToken = JwtTestUtils.makeJwtIssuedAt(user.getId(), "campus.edu", Instant.now().minusSeconds(5));
+
+            mockMvc.perform(get("/auth/me")
+                            .header("Authorization", bearerToken(oldToken)))
+                    .andExpect(status().isOk());
+
+            PasswordResetToken resetToken = new PasswordResetToken();
+            resetToken.setUserId(user.getId());
+            resetToken.setToken(UUID.randomUUID().toString());
+            resetToken.setExpiresAt(Instant.now().plus(15, ChronoUnit.MINUTES));
+            passwordResetTokenRepository.save(resetToken);
+
+            mockMvc.perform(post("/auth/reset-password")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new ResetPasswordRequest(resetToken.getToken(), "NewSecurePassword456!"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/auth/me")
+                            .header("Authorization", bearerToken(oldToken)))
+                    .andExpect(status().isUnauthorized());
+
+            // A fresh login is not affected
+            String newToken = generateToken(user.getId(), user.getCampusDomain());
+            mockMvc.perform(get("/auth/me")
+                            .header("Authorization", bearerToken(newToken)))
+                    .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("should fail reset with expired token")
         void passwordReset_expiredToken_shouldFail() throws Exception {
@@ -336,4 +372,30 @@ class AuthFlowIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isOk());
         }
     }
+
+    @Nested
+    @DisplayName("Session Revocation")
+    class SessionRevocationTests {
+
+        @Test
+        @DisplayName("should reject tokens of a user deactivated by an admin")
+        void deactivatedUser_shouldBeSignedOut() throws Exception {
+            User admin = TestDataFactory.createActiveUser("admin@campus.edu", "campus.edu");
+            admin.setRole(Role.ADMIN);
+            admin = userRepository.save(admin);
+            User user = TestDataFactory.createActiveUser("member@campus.edu", "campus.edu");
+            user = userRepository.save(user);
+            String userToken = JwtTestUtils.makeJwtIssuedAt(user.getId(), "campus.edu", Instant.now().minusSeconds(5));
+
+            mockMvc.perform(put("/admin/users/" + user.getId() + "/status")
+                            .header("Authorization", bearerToken(generateToken(admin.getId(), "campus.edu")))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"DEACTIVATED\"}"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/auth/me")
+                            .header("Authorization", bearerToken(userToken)))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
 }
@@ -0,0 +1,267 @@
+package com.collegebuddy.integration;
+
+import com.collegebuddy.domain.User;
+import com.collegebuddy.dto.ProfileUpdateRequest;
+import com.collegebuddy.media.AvatarSize;
+import com.collegebuddy.media.AvatarUrls;
+import com.collegebuddy.testutil.BaseIntegrationTest;
+import com.collegebuddy.testutil.TestDataFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Avatar Storage Integration Tests")
+class AvatarStorageIntegrationTest extends BaseIntegrationTest {
+
+    @Value("${collegebuddy.storage.local.upload-dir}")
+    private String uploadDir;
+
+    private String token1;
+    private String token2;
+
+    @BeforeEach
+    void setupUsers() {
+        User user1 = userRepository.save(TestDataFactory.createActiveUser("avatar1@university.edu", "university.edu"));
+        profileRepository.save(TestDataFactory.createProfile(user1.getId(), "Avatar One"));
+        User user2 = userRepository.save(TestDataFactory.createActiveUser("avatar2@university.edu", "university.edu"));
+        profileRepository.save(TestDataFactory.createProfile(user2.getId(), "Avatar Two"));
+
+        token1 = generateToken(user1.getId(), user1.getCampusDomain());
+        token2 = generateToken(user2.getId(), user2.getCampusDomain());
+    }
+
+    @Nested
+    @DisplayName("POST /profile/upload-avatar")
+    class UploadTests {
+
+        @Test
+        @DisplayName("identical images should share one file until the last reference is released")
+        void identicalUploads_shouldBeDeduplicatedAndReferenceCounted() throws Exception {
+            byte[] red = png(Color.RED);
+            byte[] blue = png(Color.BLUE);
+
+            String shared = upload(token1, red);
+            assertThat(upload(token2, red)).isEqualTo(shared);
+            assertThat(stored(shared)).exists();
+
+            // User one moves on; user two still uses the red image
+            String replacement = upload(token1, blue);
+            assertThat(replacement).isNotEqualTo(shared);
+            assertThat(stored(shared)).exists();
+
+            // Last reference released
+            assertThat(upload(token2, blue)).isEqualTo(replacement);
+            assertThat(stored(shared)).doesNotExist();
+            assertThat(stored(replacement)).exists();
+        }
+
+        @Test
+        @DisplayName("a raw body upload should be stored under the same content address")
+        void rawBodyUpload_shouldMatchMultipartUpload() throws Exception {
+            byte[] image = png(Color.CYAN);
+
+            MvcResult result = mockMvc.perform(put("/profile/avatar")
+                            .contentType(MediaType.IMAGE_PNG)
+                            .content(image)
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String url = objectMapper.readTree(result.getResponse().getContentAsString()).get("avatarUrl").asText();
+
+            assertThat(url).endsWith(".png");
+            assertThat(stored(url)).hasBinaryContent(image);
+            assertThat(upload(token2, image)).isEqualTo(url);
+        }
+
+        @Test
+        @DisplayName("should reject content that is not an image, whatever its declared type")
+        void spoofedContentType_shouldBeRejected() throws Exception {
+            mockMvc.perform(put("/profile/avatar")
+                            .contentType(MediaType.IMAGE_PNG)
+                            .content("<html><script>alert(1)</script></html>".getBytes())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isBadRequest());
+
+            try (Stream<Path> staged = Files.list(Path.of(uploadDir))) {
+                assertThat(staged.map(p -> p.getFileName().toString())).noneMatch(n -> n.startsWith("upload-"));
+            }
+        }
+
+        @Test
+        @DisplayName("should reject a body over the size limit")
+        void oversizedUpload_shouldBeRejected() throws Exception {
+            byte[] image = png(Color.YELLOW);
+            byte[] oversized = Arrays.copyOf(image, 5 * 1024 * 1024 + 1);
+
+            mockMvc.perform(put("/profile/avatar")
+                            .contentType(MediaType.IMAGE_PNG)
+                            .content(oversized)
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("a new user without a profile should be able to upload before the first save")
+        void uploadWithoutProfile_shouldCreateProfileHoldingOneReference() throws Exception {
+            User user = userRepository.save(TestDataFactory.createActiveUser("newcomer@university.edu", "university.edu"));
+            String token = generateToken(user.getId(), user.getCampusDomain());
+
+            String first = upload(token, png(Color.PINK));
+            assertThat(profileRepository.findById(user.getId()))
+                    .hasValueSatisfying(p -> assertThat(p.getAvatarUrl()).isEqualTo(first));
+
+            // The first "Save Profile" sends back the uploaded URL
+            mockMvc.perform(put("/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new ProfileUpdateRequest("Newcomer", null, first, "PUBLIC")))
+                            .header("Authorization", bearerToken(token)))
+                    .andExpect(status().isOk());
+
+            // Only one reference was taken, so replacing it deletes the file
+            upload(token, png(Color.GRAY));
+            assertThat(stored(first)).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("should never delete a file that is not reference counted")
+        void replacingUncountedAvatar_shouldKeepTheFile() throws Exception {
+            String foreign = place("someone-elses.png", png(Color.GREEN));
+
+            mockMvc.perform(put("/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new ProfileUpdateRequest("Avatar One", null, foreign, "PUBLIC")))
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk());
+            upload(token1, png(Color.MAGENTA));
+
+            assertThat(stored(foreign)).exists();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /uploads/avatars/**")
+    class ServeTests {
+
+        @Test
+        @DisplayName("should be cached as immutable with a strong ETag")
+        void avatar_shouldBeImmutableWithStrongEtag() throws Exception {
+            String url = upload(token1, png(Color.GREEN));
+
+            MvcResult result = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+                    .andReturn();
+            String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+
+            mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("should serve a single byte range")
+        void rangeRequest_shouldReturnPartialContent() throws Exception {
+            byte[] image = png(Color.ORANGE);
+            String url = place("range-test.png", image);
+
+            MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=8-15"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 8-15/" + image.length))
+                    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                    .andReturn();
+            assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(image, 8, 16));
+
+            mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=" + image.length + "-"))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + image.length));
+        }
+
+        @Test
+        @DisplayName("a rendition that does not exist yet should fall back to the original, uncached")
+        void pendingRendition_shouldServeOriginalWithNoCache() throws Exception {
+            byte[] image = png(Color.MAGENTA);
+            String url = place("pending-test.png", image);
+
+            MvcResult result = mockMvc.perform(get(AvatarUrls.rendition(url, AvatarSize.SMALL)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                    .andReturn();
+            assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(image);
+        }
+
+        @Test
+        @DisplayName("should not serve missing, hidden or non-image files")
+        void unknownFiles_shouldNotBeFound() throws Exception {
+            place("notes.txt", "not an image".getBytes());
+
+            mockMvc.perform(get("/uploads/avatars/missing.png"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/uploads/avatars/.hidden.png"))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/uploads/avatars/notes.txt"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private String upload(String token, byte[] image) throws Exception {
+        MvcResult result = mockMvc.perform(multipart("/profile/upload-avatar")
+                        .file(new MockMultipartFile("file", "avatar.png", "image/png", image))
+                        .header("Authorization", bearerToken(token)))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("avatarUrl").asText();
+    }
+
+    private String place(String filename, byte[] content) throws IOException {
+        Path path = Path.of(uploadDir, filename);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+        return AvatarUrls.PREFIX + filename;
+    }
+
+    private Path stored(String url) {
+        return Path.of(uploadDir, url.substring(url.lastIndexOf('/') + 1));
+    }
+
+    private static byte[] png(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 64, 64);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
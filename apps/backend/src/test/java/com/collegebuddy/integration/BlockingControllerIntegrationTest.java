@@ -237,6 +237,25 @@ class BlockingControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").value(false));
         }
+
+        @Test
+        @DisplayName("should see a new block right after an earlier check")
+        void isBlocked_afterBlocking_shouldReflectChange() throws Exception {
+            mockMvc.perform(get("/blocked-users/check/" + bob.getId())
+                            .header("Authorization", bearerToken(aliceToken)))
+                    .andExpect(jsonPath("$").value(false));
+
+            mockMvc.perform(post("/blocked-users")
+                            .header("Authorization", bearerToken(aliceToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new BlockUserRequest(bob.getId()))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/blocked-users/check/" + bob.getId())
+                            .header("Authorization", bearerToken(aliceToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").value(true));
+        }
     }
 
     @Nested
@@ -6,6 +6,7 @@ import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.dto.RespondToConnectionDto;
 import com.collegebuddy.dto.SendConnectionRequestDto;
+import com.collegebuddy.dto.SendMessageRequest;
 import com.collegebuddy.testutil.BaseIntegrationTest;
 import com.collegebuddy.testutil.TestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -227,6 +228,65 @@ class ConnectionControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.connections").isArray())
                     .andExpect(jsonPath("$.connections", hasSize(0)));
         }
+
+        @Test
+        @DisplayName("should return only the requested sections")
+        void listConnections_withFields_shouldOmitOthers() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+
+            mockMvc.perform(get("/connections")
+                            .param("fields", "unread")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.unreadCounts").isMap())
+                    .andExpect(jsonPath("$.connections").doesNotExist())
+                    .andExpect(jsonPath("$.incomingRequests").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("should reject unknown fields")
+        void listConnections_unknownField_shouldFail() throws Exception {
+            mockMvc.perform(get("/connections")
+                            .param("fields", "everything")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /connections/suggestions")
+    class SuggestionTests {
+
+        @Test
+        @DisplayName("should suggest friends of friends ranked by mutual connections")
+        void suggestions_shouldRankByMutualConnections() throws Exception {
+            User user4 = userRepository.save(TestDataFactory.createActiveUser("user4@university.edu", "university.edu"));
+            profileRepository.save(TestDataFactory.createProfile(user4.getId(), "User Four"));
+            User user5 = userRepository.save(TestDataFactory.createActiveUser("user5@university.edu", "university.edu"));
+            profileRepository.save(TestDataFactory.createProfile(user5.getId(), "User Five"));
+
+            // user1 knows user2 and user4; user5 knows both of them, user4 only shares user2
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user4.getId()));
+            connectionRepository.save(TestDataFactory.createConnection(user2.getId(), user5.getId()));
+            connectionRepository.save(TestDataFactory.createConnection(user4.getId(), user5.getId()));
+
+            mockMvc.perform(get("/connections/suggestions")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].userId").value(user5.getId()))
+                    .andExpect(jsonPath("$[0].mutualConnections").value(2));
+        }
+
+        @Test
+        @DisplayName("should return nothing for users without connections")
+        void suggestions_noConnections_shouldBeEmpty() throws Exception {
+            mockMvc.perform(get("/connections/suggestions")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)));
+        }
     }
 
     @Nested
@@ -249,6 +309,28 @@ class ConnectionControllerIntegrationTest extends BaseIntegrationTest {
             assert connections.isEmpty();
         }
 
+        @Test
+        @DisplayName("should stop messaging as soon as users disconnect")
+        void disconnect_thenSendMessage_shouldFail() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+
+            mockMvc.perform(post("/messages/send")
+                            .header("Authorization", bearerToken(token1))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SendMessageRequest(user2.getId(), "Hi"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(delete("/connections/" + user2.getId())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(post("/messages/send")
+                            .header("Authorization", bearerToken(token1))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SendMessageRequest(user2.getId(), "Still there?"))))
+                    .andExpect(status().isForbidden());
+        }
+
         @Test
         @DisplayName("should fail to disconnect from non-connected user")
         void disconnect_notConnected_shouldFail() throws Exception {
@@ -0,0 +1,119 @@
+package com.collegebuddy.integration;
+
+import com.collegebuddy.domain.EmailOutboxStatus;
+import com.collegebuddy.domain.OutboxEmail;
+import com.collegebuddy.dto.SignupRequest;
+import com.collegebuddy.email.EmailMessage;
+import com.collegebuddy.email.EmailOutbox;
+import com.collegebuddy.email.EmailOutboxDispatcher;
+import com.collegebuddy.testutil.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the email outbox: queueing on signup, delivery by the
+ * dispatcher, and retry/dead-letter bookkeeping.
+ */
+@DisplayName("Email Outbox Integration Tests")
+class EmailOutboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Nested
+    @DisplayName("Queueing and delivery")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("signup should queue the verification email instead of sending it")
+        void signup_shouldQueueVerificationEmail() throws Exception {
+            SignupRequest request = new SignupRequest("queued@university.edu", "SecurePass123!", "university.edu");
+
+            mockMvc.perform(post("/auth/signup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            List<OutboxEmail> queued = emailOutboxRepository.findAll();
+            assertThat(queued).hasSize(1);
+            assertThat(queued.get(0).getRecipient()).isEqualTo("queued@university.edu");
+            assertThat(queued.get(0).getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+            assertThat(queued.get(0).getBody()).contains("/verify?token=");
+        }
+
+        @Test
+        @DisplayName("drain should deliver due emails and mark them sent")
+        void drain_shouldMarkDeliveredEmailsSent() {
+            emailOutbox.enqueue(message("first@university.edu"));
+            emailOutbox.enqueue(message("second@university.edu"));
+
+            int attempted = dispatcher.drain();
+
+            assertThat(attempted).isEqualTo(2);
+            assertThat(emailOutboxRepository.findAll())
+                    .allSatisfy(email -> {
+                        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+                        assertThat(email.getAttempts()).isEqualTo(1);
+                        assertThat(email.getSentAt()).isNotNull();
+                    });
+            assertThat(dispatcher.drain()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("a failed send should be retried later")
+        void markFailed_shouldScheduleRetry() {
+            emailOutbox.enqueue(message("retry@university.edu"));
+            OutboxEmail claimed = emailOutbox.claimDue(10).get(0);
+
+            emailOutbox.markFailed(claimed.getId(), "Connection refused");
+
+            OutboxEmail email = emailOutboxRepository.findById(claimed.getId()).orElseThrow();
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+            assertThat(email.getLastError()).isEqualTo("Connection refused");
+            assertThat(email.getNextAttemptAt()).isAfter(Instant.now());
+            assertThat(emailOutbox.claimDue(10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("an email failing its last attempt should be dead-lettered")
+        void markFailed_onLastAttempt_shouldDeadLetter() {
+            emailOutbox.enqueue(message("dead@university.edu"));
+            OutboxEmail queued = emailOutboxRepository.findAll().get(0);
+            queued.setAttempts(7);
+            emailOutboxRepository.save(queued);
+
+            OutboxEmail claimed = emailOutbox.claimDue(10).get(0);
+            emailOutbox.markFailed(claimed.getId(), "550 Mailbox unavailable");
+
+            OutboxEmail email = emailOutboxRepository.findById(claimed.getId()).orElseThrow();
+            assertThat(email.getAttempts()).isEqualTo(8);
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        }
+    }
+
+    private static EmailMessage message(String to) {
+        return EmailMessage.builder()
+                .to(to)
+                .subject("Test")
+                .body("Hello")
+                .build();
+    }
+}
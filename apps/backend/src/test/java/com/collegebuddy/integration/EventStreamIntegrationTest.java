@@ -0,0 +1,87 @@
+package com.collegebuddy.integration;
+
+import com.collegebuddy.domain.User;
+import com.collegebuddy.dto.SendMessageRequest;
+import com.collegebuddy.testutil.BaseIntegrationTest;
+import com.collegebuddy.testutil.TestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Event Stream Integration Tests")
+class EventStreamIntegrationTest extends BaseIntegrationTest {
+
+    private User sender;
+    private User receiver;
+    private String senderToken;
+    private String receiverToken;
+
+    @BeforeEach
+    void setupUsers() {
+        sender = userRepository.save(TestDataFactory.createActiveUser("sender@university.edu", "university.edu"));
+        profileRepository.save(TestDataFactory.createProfile(sender.getId(), "Sender"));
+
+        receiver = userRepository.save(TestDataFactory.createActiveUser("receiver@university.edu", "university.edu"));
+        profileRepository.save(TestDataFactory.createProfile(receiver.getId(), "Receiver"));
+
+        connectionRepository.save(TestDataFactory.createConnection(sender.getId(), receiver.getId()));
+        conversationRepository.save(TestDataFactory.createConversation(sender.getId(), receiver.getId()));
+
+        senderToken = generateToken(sender.getId(), sender.getCampusDomain());
+        receiverToken = generateToken(receiver.getId(), receiver.getCampusDomain());
+    }
+
+    @Test
+    @DisplayName("should stream new messages to the recipient")
+    void stream_shouldReceiveMessageEvents() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/events/stream")
+                        .header("Authorization", bearerToken(receiverToken)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/messages/send")
+                        .header("Authorization", bearerToken(senderToken))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SendMessageRequest(receiver.getId(), "Hello stream"))))
+                .andExpect(status().isOk());
+
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains("event:message");
+        assertThat(body).contains("Hello stream");
+        assertThat(body).contains("event:unread");
+    }
+
+    @Test
+    @DisplayName("should accept access_token query parameter on the stream")
+    void stream_withQueryToken_shouldStart() throws Exception {
+        mockMvc.perform(get("/events/stream")
+                        .param("access_token", receiverToken))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("should ask for resync when resuming from an unknown event id")
+    void stream_withStaleLastEventId_shouldResync() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/events/stream")
+                        .header("Authorization", bearerToken(receiverToken))
+                        .header("Last-Event-ID", "stale-42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(stream.getResponse().getContentAsString()).contains("event:resync");
+    }
+
+    @Test
+    @DisplayName("should fail without authentication")
+    void stream_noAuth_shouldFail() throws Exception {
+        mockMvc.perform(get("/events/stream"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -4,9 +4,14 @@ import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.domain.Visibility;
 import com.collegebuddy.groups.CreateGroupRequest;
+import com.collegebuddy.groups.GroupMessageDto;
 import com.collegebuddy.groups.SendGroupMessageRequest;
+import com.collegebuddy.realtime.GroupMessageEvent;
+import com.collegebuddy.realtime.RealtimeEnvelope;
+import com.collegebuddy.realtime.RealtimeEvent;
 import com.collegebuddy.testutil.BaseIntegrationTest;
 import com.collegebuddy.testutil.TestDataFactory;
+import com.collegebuddy.unread.UnreadCounterStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +40,9 @@ class GroupControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired(required = false)
     private com.collegebuddy.repo.GroupMessageRepository groupMessageRepository;
 
+    @Autowired
+    private UnreadCounterStore unreadCounters;
+
     private User alice;
     private User bob;
     private User charlie;
@@ -439,6 +448,41 @@ class GroupControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(jsonPath("$", hasSize(2)));
         }
 
+        @Test
+        @DisplayName("should page back through group messages with before cursor")
+        void getGroupMessages_withBeforeCursor_shouldPageBack() throws Exception {
+            for (String body : new String[]{"Message 1", "Message 2", "Message 3"}) {
+                mockMvc.perform(post("/groups/" + groupId + "/messages")
+                                .header("Authorization", bearerToken(aliceToken))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new SendGroupMessageRequest(body))))
+                        .andExpect(status().isOk());
+            }
+
+            // Newest two, oldest first, with sender profile resolved
+            String response = mockMvc.perform(get("/groups/" + groupId + "/messages")
+                            .param("limit", "2")
+                            .header("Authorization", bearerToken(bobToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].body").value("Message 2"))
+                    .andExpect(jsonPath("$[1].body").value("Message 3"))
+                    .andExpect(jsonPath("$[0].senderName").value(not("Unknown")))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            long oldestId = objectMapper.readTree(response).get(0).get("id").asLong();
+
+            mockMvc.perform(get("/groups/" + groupId + "/messages")
+                            .param("limit", "2")
+                            .param("before", String.valueOf(oldestId))
+                            .header("Authorization", bearerToken(bobToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].body").value("Message 1"));
+        }
+
         @Test
         @DisplayName("should fail to get messages as non-member")
         void getGroupMessages_nonMember_shouldFail() throws Exception {
@@ -463,6 +507,28 @@ class GroupControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isMap());
         }
+
+        @Test
+        @DisplayName("a group message event arriving after a rebuild that counted it should not count it twice")
+        void lateGroupMessageEvent_shouldNotDoubleCount() throws Exception {
+            String response = mockMvc.perform(post("/groups/" + groupId + "/messages")
+                            .header("Authorization", bearerToken(aliceToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SendGroupMessageRequest("Counted once"))))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            GroupMessageDto message = objectMapper.readValue(response, GroupMessageDto.class);
+
+            unreadCounters.invalidate(bob.getId());
+            assertThat(unreadCounters.getGroupCounts(bob.getId())).containsEntry(groupId, 1L);
+
+            // The event for the same message, delivered late as on the Postgres bus
+            unreadCounters.send(bob.getId(), new RealtimeEnvelope(RealtimeEvent.GROUP_MESSAGE,
+                    new GroupMessageEvent(groupId, message)));
+            assertThat(unreadCounters.getGroupCounts(bob.getId())).containsEntry(groupId, 1L);
+        }
     }
 
     @Nested
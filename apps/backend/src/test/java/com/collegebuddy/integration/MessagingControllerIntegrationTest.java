@@ -194,5 +194,172 @@ class MessagingControllerIntegrationTest extends BaseIntegrationTest {
             mockMvc.perform(get("/messages/conversation/" + user2.getId()))
                     .andExpect(status().isUnauthorized());
         }
+
+        @Test
+        @DisplayName("should page back through history with before cursor")
+        void getConversation_withBeforeCursor_shouldPageBack() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            Conversation conv = conversationRepository.save(
+                    TestDataFactory.createConversation(user1.getId(), user2.getId()));
+
+            Message first = messageRepository.save(TestDataFactory.createMessage(conv.getId(), user1.getId(), "One"));
+            Message second = messageRepository.save(TestDataFactory.createMessage(conv.getId(), user2.getId(), "Two"));
+            messageRepository.save(TestDataFactory.createMessage(conv.getId(), user1.getId(), "Three"));
+
+            // Newest two, oldest first
+            mockMvc.perform(get("/messages/conversation/" + user2.getId())
+                            .param("limit", "2")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.messages", hasSize(2)))
+                    .andExpect(jsonPath("$.messages[0].body").value("Two"))
+                    .andExpect(jsonPath("$.messages[1].body").value("Three"))
+                    .andExpect(jsonPath("$.hasMore").value(true));
+
+            mockMvc.perform(get("/messages/conversation/" + user2.getId())
+                            .param("limit", "2")
+                            .param("before", second.getId().toString())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.messages", hasSize(1)))
+                    .andExpect(jsonPath("$.messages[0].id").value(first.getId()))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("should reject cursor from another conversation")
+        void getConversation_foreignCursor_shouldFail() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user2.getId()));
+            Conversation other = conversationRepository.save(
+                    TestDataFactory.createConversation(user2.getId(), user3.getId()));
+            Message foreign = messageRepository.save(
+                    TestDataFactory.createMessage(other.getId(), user3.getId(), "Not yours"));
+
+            mockMvc.perform(get("/messages/conversation/" + user2.getId())
+                            .param("before", foreign.getId().toString())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /messages/inbox")
+    class InboxTests {
+
+        @Test
+        @DisplayName("should return conversations with last message and unread count")
+        void getInbox_shouldReturnSummaries() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user2.getId()));
+
+            // Send through the API so the conversation summary is maintained
+            for (String body : new String[]{"First", "Latest"}) {
+                mockMvc.perform(post("/messages/send")
+                                .header("Authorization", bearerToken(token2))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new SendMessageRequest(user1.getId(), body))))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(get("/messages/inbox")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conversations", hasSize(1)))
+                    .andExpect(jsonPath("$.conversations[0].otherUserId").value(user2.getId()))
+                    .andExpect(jsonPath("$.conversations[0].otherUserName").value("Receiver"))
+                    .andExpect(jsonPath("$.conversations[0].lastMessage").value("Latest"))
+                    .andExpect(jsonPath("$.conversations[0].unreadCount").value(2))
+                    .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        }
+
+        @Test
+        @DisplayName("should reset unread count after marking conversation as read")
+        void getInbox_afterMarkRead_shouldHaveNoUnread() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user2.getId()));
+
+            mockMvc.perform(post("/messages/send")
+                            .header("Authorization", bearerToken(token2))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new SendMessageRequest(user1.getId(), "Ping"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(post("/messages/mark-read/" + user2.getId())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/messages/inbox")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conversations[0].lastMessage").value("Ping"))
+                    .andExpect(jsonPath("$.conversations[0].unreadCount").value(0));
+        }
+
+        @Test
+        @DisplayName("should page through conversations with a cursor")
+        void getInbox_withLimit_shouldReturnCursor() throws Exception {
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user2.getId()));
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user3.getId()));
+
+            String body = mockMvc.perform(get("/messages/inbox")
+                            .param("limit", "1")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conversations", hasSize(1)))
+                    .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                    .andReturn().getResponse().getContentAsString();
+
+            String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+            mockMvc.perform(get("/messages/inbox")
+                            .param("limit", "1")
+                            .param("cursor", cursor)
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conversations", hasSize(1)))
+                    .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /unread/badge")
+    class UnreadBadgeTests {
+
+        @Test
+        @DisplayName("should track sends and reads on a cached badge")
+        void getBadge_shouldFollowSendsAndReads() throws Exception {
+            connectionRepository.save(TestDataFactory.createConnection(user1.getId(), user2.getId()));
+            conversationRepository.save(TestDataFactory.createConversation(user1.getId(), user2.getId()));
+
+            // Load the counters before anything is sent
+            mockMvc.perform(get("/unread/badge")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(0));
+
+            for (String body : new String[]{"One", "Two"}) {
+                mockMvc.perform(post("/messages/send")
+                                .header("Authorization", bearerToken(token2))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new SendMessageRequest(user1.getId(), body))))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(get("/unread/badge")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(2))
+                    .andExpect(jsonPath("$.direct['" + user2.getId() + "']").value(2));
+
+            mockMvc.perform(post("/messages/mark-read/" + user2.getId())
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/unread/badge")
+                            .header("Authorization", bearerToken(token1)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(0));
+        }
     }
 }
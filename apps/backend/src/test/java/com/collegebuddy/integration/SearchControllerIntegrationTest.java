@@ -1,5 +1,6 @@
 package com.collegebuddy.integration;
 
+import com.collegebuddy.domain.BlockedUser;
 import com.collegebuddy.domain.Profile;
 import com.collegebuddy.domain.User;
 import com.collegebuddy.domain.Visibility;
@@ -172,5 +173,90 @@ class SearchControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.results[*].displayName", not(hasItem("Private Person"))));
         }
+
+        @Test
+        @DisplayName("should not show users who blocked the searcher")
+        void search_blockedBy_shouldNotShow() throws Exception {
+            blockedUserRepository.save(new BlockedUser(alice.getId(), searcher.getId()));
+
+            SearchRequest request = new SearchRequest("Alice");
+
+            mockMvc.perform(post("/search")
+                            .header("Authorization", bearerToken(searcherToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("should rank prefix matches first and page results")
+        void search_paged_shouldRankPrefixMatchesFirst() throws Exception {
+            User smithers = userRepository.save(TestDataFactory.createActiveUser("smithers@university.edu", "university.edu"));
+            profileRepository.save(TestDataFactory.createProfile(smithers.getId(), "Smithers"));
+
+            SearchRequest firstPage = new SearchRequest("smith", 0, 1);
+
+            mockMvc.perform(post("/search")
+                            .header("Authorization", bearerToken(searcherToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(firstPage)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results", hasSize(1)))
+                    .andExpect(jsonPath("$.results[0].displayName").value("Smithers"))
+                    .andExpect(jsonPath("$.hasMore").value(true));
+
+            SearchRequest secondPage = new SearchRequest("smith", 1, 1);
+
+            mockMvc.perform(post("/search")
+                            .header("Authorization", bearerToken(searcherToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(secondPage)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results[0].displayName").value("Alice Smith"))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /search/typeahead")
+    class TypeaheadTests {
+
+        @Test
+        @DisplayName("should suggest users by the prefix of any name word")
+        void typeahead_byWordPrefix_shouldSuggest() throws Exception {
+            mockMvc.perform(get("/search/typeahead")
+                            .param("q", "smi")
+                            .header("Authorization", bearerToken(searcherToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].displayName", contains("Alice Smith")));
+        }
+
+        @Test
+        @DisplayName("should reflect profile changes and leave out other campuses and private profiles")
+        void typeahead_shouldFollowProfileChanges() throws Exception {
+            Profile bobProfile = profileRepository.findById(bob.getId()).orElseThrow();
+            bobProfile.setDisplayName("Charlie Jones");
+            profileRepository.save(bobProfile);
+
+            User hidden = userRepository.save(TestDataFactory.createActiveUser("hidden@university.edu", "university.edu"));
+            profileRepository.save(TestDataFactory.createProfile(hidden.getId(), "Charlie Hidden", Visibility.PRIVATE));
+
+            mockMvc.perform(get("/search/typeahead")
+                            .param("q", "char")
+                            .header("Authorization", bearerToken(searcherToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].displayName", contains("Charlie Jones")));
+        }
+
+        @Test
+        @DisplayName("should reject an out of range limit")
+        void typeahead_badLimit_shouldFail() throws Exception {
+            mockMvc.perform(get("/search/typeahead")
+                            .param("q", "a")
+                            .param("limit", "500")
+                            .header("Authorization", bearerToken(searcherToken)))
+                    .andExpect(status().isBadRequest());
+        }
     }
 }
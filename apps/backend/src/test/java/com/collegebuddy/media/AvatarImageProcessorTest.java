@@ -0,0 +1,103 @@
+package com.collegebuddy.media;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AvatarImageProcessorTest {
+
+    private final AvatarImageProcessor processor = new AvatarImageProcessor(0.82f);
+
+    @Test
+    void render_shouldProduceSquareJpegPerSize() throws IOException {
+        byte[] png = encode(halves(1000, 600, Color.RED, Color.BLUE), "png");
+
+        Map<AvatarSize, byte[]> renditions = processor.render(png);
+
+        assertThat(renditions).containsOnlyKeys(AvatarSize.values());
+        for (AvatarSize size : AvatarSize.values()) {
+            BufferedImage image = decode(renditions.get(size));
+            assertThat(image.getWidth()).isEqualTo(size.getPixels());
+            assertThat(image.getHeight()).isEqualTo(size.getPixels());
+            assertThat(renditions.get(size)).startsWith(0xFF, 0xD8); // JPEG
+        }
+    }
+
+    @Test
+    void render_shouldNotUpscaleSmallImages() throws IOException {
+        Map<AvatarSize, byte[]> renditions = processor.render(encode(halves(100, 100, Color.RED, Color.BLUE), "png"));
+
+        assertThat(decode(renditions.get(AvatarSize.LARGE)).getWidth()).isEqualTo(100);
+        assertThat(decode(renditions.get(AvatarSize.SMALL)).getWidth()).isEqualTo(48);
+    }
+
+    @Test
+    void render_shouldApplyExifOrientationAndDropMetadata() throws IOException {
+        // Left half red, right half blue; orientation 6 means "rotate 90 degrees clockwise"
+        byte[] jpeg = withExifOrientation(encode(halves(200, 200, Color.RED, Color.BLUE), "jpeg"), 6);
+        assertThat(ExifOrientation.read(jpeg)).isEqualTo(6);
+
+        byte[] rendition = processor.render(jpeg).get(AvatarSize.MEDIUM);
+        BufferedImage image = decode(rendition);
+
+        assertThat(new Color(image.getRGB(64, 10)).getRed()).isGreaterThan(200);
+        assertThat(new Color(image.getRGB(64, 118)).getBlue()).isGreaterThan(200);
+        assertThat(ExifOrientation.read(rendition)).isEqualTo(1);
+        assertThat(new String(rendition, StandardCharsets.ISO_8859_1)).doesNotContain("Exif");
+    }
+
+    @Test
+    void render_shouldRejectUndecodableInput() {
+        assertThatThrownBy(() -> processor.render("not an image".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static BufferedImage halves(int width, int height, Color left, Color right) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(left);
+        g.fillRect(0, 0, width / 2, height);
+        g.setColor(right);
+        g.fillRect(width / 2, 0, width - width / 2, height);
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+
+    // Inserts a big-endian EXIF APP1 segment with a single orientation entry right after SOI
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer app1 = ByteBuffer.allocate(2 + 2 + 6 + 8 + 2 + 12 + 4);
+        app1.putShort((short) 0xFFE1);
+        app1.putShort((short) (app1.capacity() - 2));
+        app1.put("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        app1.put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 42).putInt(8);
+        app1.putShort((short) 1);
+        app1.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        app1.putInt(0);
+
+        ByteBuffer out = ByteBuffer.allocate(jpeg.length + app1.capacity());
+        out.put(jpeg, 0, 2).put(app1.array()).put(jpeg, 2, jpeg.length - 2);
+        return out.array();
+    }
+}
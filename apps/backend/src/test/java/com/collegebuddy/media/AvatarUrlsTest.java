@@ -0,0 +1,34 @@
+package com.collegebuddy.media;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvatarUrlsTest {
+
+    @Test
+    void rendition_shouldDeriveSizedUrlForLocalUploads() {
+        assertThat(AvatarUrls.rendition("/uploads/avatars/5_abc.png", AvatarSize.MEDIUM))
+                .isEqualTo("/uploads/avatars/5_abc.png.128.jpg");
+    }
+
+    @Test
+    void rendition_ofRendition_shouldNotStackSuffixes() {
+        assertThat(AvatarUrls.rendition("/uploads/avatars/5_abc.png.512.jpg", AvatarSize.SMALL))
+                .isEqualTo("/uploads/avatars/5_abc.png.48.jpg");
+    }
+
+    @Test
+    void rendition_shouldLeaveExternalAndMissingUrlsAlone() {
+        assertThat(AvatarUrls.rendition("https://example.com/avatar.jpg", AvatarSize.SMALL))
+                .isEqualTo("https://example.com/avatar.jpg");
+        assertThat(AvatarUrls.rendition(null, AvatarSize.SMALL)).isNull();
+    }
+
+    @Test
+    void original_shouldStripOnlyKnownRenditionSuffixes() {
+        assertThat(AvatarUrls.original("/uploads/avatars/5_abc.png.48.jpg")).isEqualTo("/uploads/avatars/5_abc.png");
+        assertThat(AvatarUrls.original("/uploads/avatars/5_abc.png")).isEqualTo("/uploads/avatars/5_abc.png");
+        assertThat(AvatarUrls.original("/uploads/avatars/5_abc.1920.jpg")).isEqualTo("/uploads/avatars/5_abc.1920.jpg");
+    }
+}
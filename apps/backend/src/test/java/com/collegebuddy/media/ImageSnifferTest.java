@@ -0,0 +1,48 @@
+package com.collegebuddy.media;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageSnifferTest {
+
+    @Test
+    void detect_shouldRecogniseEncodedImages() throws IOException {
+        assertThat(sniff(encode("jpg"))).isEqualTo("image/jpeg");
+        assertThat(sniff(encode("png"))).isEqualTo("image/png");
+        assertThat(sniff(encode("gif"))).isEqualTo("image/gif");
+    }
+
+    @Test
+    void detect_shouldRecogniseWebpContainer() {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+        assertThat(sniff(webp)).isEqualTo("image/webp");
+
+        byte[] wav = "RIFF\0\0\0\0WAVEfmt ".getBytes(StandardCharsets.ISO_8859_1);
+        assertThat(sniff(wav)).isNull();
+    }
+
+    @Test
+    void detect_shouldRejectOtherContentAndShortInput() {
+        assertThat(sniff("<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(sniff(new byte[]{(byte) 0xFF, (byte) 0xD8})).isNull();
+        assertThat(sniff(new byte[0])).isNull();
+    }
+
+    private static String sniff(byte[] bytes) {
+        return ImageSniffer.detect(bytes, bytes.length);
+    }
+
+    private static byte[] encode(String format) throws IOException {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
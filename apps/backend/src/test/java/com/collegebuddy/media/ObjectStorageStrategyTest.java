@@ -0,0 +1,158 @@
+package com.collegebuddy.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectStorageStrategyTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void publishedUpload_shouldBeServedByEveryNodeFromItsDiskCache() throws IOException {
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString());
+        ObjectStorageStrategy nodeA = node(bucket, "a", 1024 * 1024);
+        ObjectStorageStrategy nodeB = node(bucket, "b", 1024 * 1024);
+        byte[] image = image(1000, (byte) 1);
+
+        String url;
+        try (StagedUpload upload = nodeA.stage(new ByteArrayInputStream(image), 1L, StorageContext.avatar())) {
+            url = upload.url();
+            upload.publish();
+        }
+
+        assertThat(url).startsWith(AvatarUrls.PREFIX).endsWith(".png");
+        assertThat(bucket.exists("avatars/" + url.substring(AvatarUrls.PREFIX.length()))).isTrue();
+        assertThat(nodeA.localFile(url)).hasValueSatisfying(path -> assertThat(path).hasBinaryContent(image));
+
+        // Node B fetches it once, then serves its own copy
+        Optional<Path> fetched = nodeB.localFile(url);
+        assertThat(fetched).hasValueSatisfying(path -> assertThat(path).hasBinaryContent(image));
+        bucket.delete("avatars/" + url.substring(AvatarUrls.PREFIX.length()));
+        assertThat(nodeB.localFile(url)).isEqualTo(fetched);
+    }
+
+    @Test
+    void delete_shouldRemoveObjectRenditionsAndCachedCopies() throws IOException {
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString());
+        ObjectStorageStrategy node = node(bucket, "a", 1024 * 1024);
+
+        String url;
+        try (StagedUpload upload = node.stage(new ByteArrayInputStream(image(500, (byte) 2)), 1L, StorageContext.avatar())) {
+            url = upload.url();
+            upload.publish();
+        }
+        node.storeRendition(url, AvatarSize.SMALL, new byte[]{1, 2, 3});
+        assertThat(node.exists(AvatarUrls.rendition(url, AvatarSize.SMALL))).isTrue();
+
+        assertThat(node.delete(url)).isTrue();
+
+        assertThat(node.exists(url)).isFalse();
+        assertThat(node.exists(AvatarUrls.rendition(url, AvatarSize.SMALL))).isFalse();
+        assertThat(node.localFile(url)).isEmpty();
+        assertThat(cachedFiles("a")).isEmpty();
+    }
+
+    @Test
+    void diskCache_shouldStayWithinItsByteBound() throws IOException {
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString());
+        ObjectStorageStrategy node = node(bucket, "a", 10_000);
+
+        for (byte i = 0; i < 10; i++) {
+            try (StagedUpload upload = node.stage(new ByteArrayInputStream(image(3000, i)), 1L, StorageContext.avatar())) {
+                upload.publish();
+            }
+        }
+
+        long cachedBytes = 0;
+        for (Path path : cachedFiles("a")) {
+            cachedBytes += Files.size(path);
+        }
+        assertThat(cachedBytes).isLessThanOrEqualTo(10_000);
+    }
+
+    @Test
+    void stage_whenClosedWithoutPublishing_shouldNotLeaveTempFiles() throws IOException {
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString());
+        ObjectStorageStrategy node = node(bucket, "a", 1024 * 1024);
+
+        try (StagedUpload upload = node.stage(new ByteArrayInputStream(image(500, (byte) 3)), 1L, StorageContext.avatar())) {
+            assertThat(upload.url()).endsWith(".png");
+        }
+
+        assertThat(cachedFiles("a")).isEmpty();
+    }
+
+    @Test
+    void publish_whenStoredCopyWasPurged_shouldFailUntilRestaged() throws IOException {
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString());
+        ObjectStorageStrategy node = node(bucket, "a", 1024 * 1024);
+
+        try (StagedUpload upload = node.stage(new ByteArrayInputStream(image(500, (byte) 4)), 1L, StorageContext.avatar())) {
+            String key = "avatars/" + upload.url().substring(AvatarUrls.PREFIX.length());
+            bucket.delete(key);
+
+            assertThatThrownBy(upload::publish).isInstanceOf(StaleUploadException.class);
+
+            upload.restage();
+            upload.publish();
+            assertThat(bucket.exists(key)).isTrue();
+        }
+    }
+
+    @Test
+    void localFile_shouldOnlyAskTheStoreForContentAddressesAndRememberMisses() {
+        AtomicInteger gets = new AtomicInteger();
+        FileSystemObjectStore bucket = new FileSystemObjectStore(tempDir.resolve("bucket").toString()) {
+            @Override
+            public boolean get(String key, Path target) {
+                gets.incrementAndGet();
+                return super.get(key, target);
+            }
+        };
+        ObjectStorageStrategy node = node(bucket, "a", 1024 * 1024);
+
+        assertThat(node.localFile(AvatarUrls.PREFIX + "../../etc/passwd")).isEmpty();
+        assertThat(node.localFile(AvatarUrls.PREFIX + "avatar.png")).isEmpty();
+        assertThat(gets).hasValue(0);
+
+        String missing = AvatarUrls.PREFIX + "0".repeat(64) + ".png";
+        assertThat(node.localFile(missing)).isEmpty();
+        assertThat(node.localFile(missing)).isEmpty();
+        assertThat(gets).hasValue(1);
+    }
+
+    private ObjectStorageStrategy node(ObjectStore bucket, String name, long cacheBytes) {
+        return new ObjectStorageStrategy(bucket, new SimpleMeterRegistry(),
+                tempDir.resolve("cache-" + name).toString(), cacheBytes);
+    }
+
+    private List<Path> cachedFiles(String node) throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("cache-" + node))) {
+            return files.toList();
+        }
+    }
+
+    // Not a decodable PNG, but enough to pass type sniffing
+    private static byte[] image(int size, byte fill) {
+        byte[] bytes = Arrays.copyOf(PNG_SIGNATURE, size);
+        Arrays.fill(bytes, PNG_SIGNATURE.length, size, fill);
+        return bytes;
+    }
+}
@@ -0,0 +1,114 @@
+package com.collegebuddy.realtime;
+
+import com.collegebuddy.common.exceptions.UnauthorizedException;
+import com.collegebuddy.security.AuthenticatedUser;
+import com.collegebuddy.eventbus.InProcessEventBus;
+import com.collegebuddy.security.JwtService;
+import com.collegebuddy.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StompAuthChannelInterceptorTest {
+
+    private JwtService jwtService;
+    private TokenRevocationStore tokenRevocations;
+    private StompAuthChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretBase64", "dGhpc2lzYXZlcnlsb25nc2VjcmV0a2V5Zm9ydGVzdGluZ3B1cnBvc2VzMTIzNDU2Nzg5MA==");
+        ReflectionTestUtils.setField(jwtService, "ttlSeconds", 3600L);
+        tokenRevocations = new TokenRevocationStore(null, new InProcessEventBus(), 3600L);
+        interceptor = new StompAuthChannelInterceptor(jwtService, tokenRevocations,
+                new StompSessionRegistry(tokenRevocations));
+    }
+
+    @Test
+    void connect_withValidToken_shouldSetPrincipal() {
+        String token = jwtService.issueToken(7L, "cpp.edu", "STUDENT", "test@cpp.edu", "Test User");
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer " + token);
+        accessor.setLeaveMutable(true);
+
+        Message<?> result = interceptor.preSend(message(accessor), null);
+
+        StompHeaderAccessor resultAccessor = StompHeaderAccessor.wrap(result);
+        assertThat(resultAccessor.getUser()).isInstanceOf(StompPrincipal.class);
+        assertThat(resultAccessor.getUser().getName()).isEqualTo("7");
+    }
+
+    @Test
+    void connect_withoutToken_shouldFail() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setLeaveMutable(true);
+
+        assertThatThrownBy(() -> interceptor.preSend(message(accessor), null))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void subscribe_toBrokerQueue_shouldFail() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setUser(principal(Instant.now().plusSeconds(3600)));
+        accessor.setDestination("/queue/events-user123");
+        accessor.setLeaveMutable(true);
+
+        assertThatThrownBy(() -> interceptor.preSend(message(accessor), null))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void subscribe_toOwnUserQueue_shouldSucceed() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setUser(principal(Instant.now().plusSeconds(3600)));
+        accessor.setDestination("/user/queue/events");
+        accessor.setLeaveMutable(true);
+
+        assertThat(interceptor.preSend(message(accessor), null)).isNotNull();
+    }
+
+    @Test
+    void subscribe_withExpiredToken_shouldFail() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setUser(principal(Instant.now().minusSeconds(1)));
+        accessor.setDestination("/user/queue/events");
+        accessor.setLeaveMutable(true);
+
+        assertThatThrownBy(() -> interceptor.preSend(message(accessor), null))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void send_afterRevocation_shouldFail() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setUser(principal(Instant.now().plusSeconds(3600)));
+        accessor.setDestination("/app/typing");
+        accessor.setLeaveMutable(true);
+
+        tokenRevocations.revokeAll(7L);
+
+        assertThatThrownBy(() -> interceptor.preSend(message(accessor), null))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private static StompPrincipal principal(Instant expiresAt) {
+        return new StompPrincipal(new AuthenticatedUser(7L, "cpp.edu"), Instant.now().minusSeconds(60), expiresAt);
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -136,4 +136,36 @@ class JwtServiceTest {
         assertThat(jwtService.extractUserId(token1)).isEqualTo(1L);
         assertThat(jwtService.extractUserId(token2)).isEqualTo(2L);
     }
+
+    @Test
+    void verify_shouldReturnAllClaims() {
+        String token = jwtService.issueToken(5L, "cpp.edu", "ADMIN", "admin@cpp.edu", "Admin User");
+
+        JwtClaims claims = jwtService.verify(token);
+
+        assertThat(claims.userId()).isEqualTo(5L);
+        assertThat(claims.campusDomain()).isEqualTo("cpp.edu");
+        assertThat(claims.role()).isEqualTo("ADMIN");
+        assertThat(claims.email()).isEqualTo("admin@cpp.edu");
+        assertThat(claims.displayName()).isEqualTo("Admin User");
+        assertThat(claims.expiresAt()).isAfter(claims.issuedAt());
+    }
+
+    @Test
+    void verify_repeatedToken_shouldReturnCachedClaims() {
+        String token = jwtService.issueToken(1L, "cpp.edu", "STUDENT", "test@cpp.edu", "Test User");
+
+        assertThat(jwtService.verify(token)).isSameAs(jwtService.verify(token));
+    }
+
+    @Test
+    void verify_tamperedCopyOfCachedToken_shouldFail() {
+        String token = jwtService.issueToken(1L, "cpp.edu", "STUDENT", "test@cpp.edu", "Test User");
+        jwtService.verify(token);
+
+        String tamperedToken = token.substring(0, token.length() - 5) + "xxxxx";
+
+        assertThatThrownBy(() -> jwtService.verify(tamperedToken))
+                .isInstanceOf(JwtException.class);
+    }
 }
@@ -0,0 +1,89 @@
+package com.collegebuddy.security;
+
+import com.collegebuddy.common.ErrorResponseFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(new ErrorResponseFactory(),
+            new ObjectMapper().findAndRegisterModules(), meterRegistry, true, 1_000, 2, 1, 3, 1);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void login_overLimit_shouldReturn429WithRetryAfter() throws Exception {
+        assertThat(post("/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(post("/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = post("/auth/login", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isPositive();
+        assertThat(rejected.getContentAsString()).contains("RATE_LIMITED");
+        assertThat(meterRegistry.get("collegebuddy.rate-limit.rejected").tag("rule", "login").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void authLimits_shouldBePerIpAndPerEndpoint() throws Exception {
+        post("/auth/login", "10.0.0.1");
+        post("/auth/login", "10.0.0.1");
+
+        assertThat(post("/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(post("/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(post("/auth/forgot-password", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void groupMessages_shouldBeLimitedPerUser() throws Exception {
+        authenticate(1L);
+        for (int i = 0; i < 3; i++) {
+            assertThat(post("/groups/7/messages", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        assertThat(post("/groups/8/messages", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        // Same IP, different user
+        authenticate(2L);
+        assertThat(post("/groups/7/messages", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unlistedEndpointsAndReads_shouldNotBeLimited() throws Exception {
+        authenticate(1L);
+        for (int i = 0; i < 10; i++) {
+            assertThat(post("/connections/accept/1", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(request("GET", "/messages/send", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse post(String path, String ip) throws Exception {
+        return request("POST", path, ip);
+    }
+
+    private MockHttpServletResponse request(String method, String path, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(new AuthenticatedUser(userId, "cpp.edu"), null));
+    }
+}
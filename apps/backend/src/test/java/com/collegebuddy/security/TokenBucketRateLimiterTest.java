@@ -0,0 +1,52 @@
+package com.collegebuddy.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 6, 1_000, now::get);
+
+    @Test
+    void tryAcquire_shouldAllowBurstUpToCapacityThenReject() {
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+
+        // 6 per minute: the next token arrives 10 seconds after the first one was taken
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+
+        // Idle for longer than a full refill: back to the whole burst, not more
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ip")).isZero();
+        }
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+}
@@ -0,0 +1,33 @@
+package com.collegebuddy.security;
+
+import com.collegebuddy.eventbus.InProcessEventBus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationStoreTest {
+
+    private final TokenRevocationStore store = new TokenRevocationStore(null, new InProcessEventBus(), 3600L);
+
+    @Test
+    void revokeAll_shouldRejectTokensIssuedEarlierInTheSameSecond() {
+        Instant before = Instant.now();
+        store.revokeAll(7L);
+        Instant after = Instant.now().plusMillis(1);
+
+        assertThat(store.isRevoked(7L, before.minusMillis(1))).isTrue();
+        assertThat(store.isRevoked(7L, after)).isFalse();
+        assertThat(store.isRevoked(8L, before)).isFalse();
+    }
+
+    @Test
+    void isRevoked_withoutIssuedAt_shouldRejectOnceRevoked() {
+        assertThat(store.isRevoked(7L, null)).isFalse();
+
+        store.revokeAll(7L);
+
+        assertThat(store.isRevoked(7L, null)).isTrue();
+    }
+}
@@ -57,6 +57,12 @@ public abstract class BaseIntegrationTest {
     @Autowired(required = false)
     protected com.collegebuddy.repo.PasswordResetTokenRepository passwordResetTokenRepository;
 
+    @Autowired(required = false)
+    protected com.collegebuddy.repo.EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired(required = false)
+    protected com.collegebuddy.repo.MediaObjectRepository mediaObjectRepository;
+
     @BeforeEach
     void cleanDatabase() {
         messageRepository.deleteAll();
@@ -73,6 +79,12 @@ public abstract class BaseIntegrationTest {
         if (passwordResetTokenRepository != null) {
             passwordResetTokenRepository.deleteAll();
         }
+        if (emailOutboxRepository != null) {
+            emailOutboxRepository.deleteAll();
+        }
+        if (mediaObjectRepository != null) {
+            mediaObjectRepository.deleteAll();
+        }
 
         profileRepository.deleteAll();
         userRepository.deleteAll();
@@ -33,6 +33,16 @@ public class JwtTestUtils {
                 .compact();
     }
 
+    public static String makeJwtIssuedAt(Long userId, String campusDomain, Instant issuedAt) {
+        return Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .addClaims(Map.of("campusDomain", campusDomain))
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusSeconds(3600)))
+                .signWith(signingKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
     public static String makeExpiredJwt(Long userId, String campusDomain) {
         Instant past = Instant.now().minusSeconds(3600);
         Instant exp = past.plusSeconds(1);
@@ -87,7 +87,7 @@ function AppContent() {
       const [connectionsData, conversationsData, groupsData] = await Promise.all([
         apiClient.get<{
           incomingRequests: any[];
-        }>('/connections'),
+        }>('/connections?fields=incoming'),
         apiClient.get<any[]>('/messages/conversations'),
         groupsApi.getGroups(0, 100) // Get user's groups
       ]);
@@ -148,9 +148,8 @@ function AppContent() {
     try {
       const [connectionsData, groupUnreadCounts] = await Promise.all([
         apiClient.get<{
-          connections: any[];
           unreadCounts: Record<number, number>;
-        }>('/connections'),
+        }>('/connections?fields=unread'),
         groupsApi.getUnreadCounts()
       ]);
 
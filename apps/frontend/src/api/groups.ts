@@ -50,6 +50,14 @@ export interface GroupMessageDto {
   sentAt: string;
 }
 
+export interface GroupMessagePage {
+  // Oldest first; hasMore means older messages exist before messages[0]
+  messages: GroupMessageDto[];
+  hasMore: boolean;
+}
+
+const GROUP_MESSAGE_PAGE_SIZE = 50;
+
 export interface SendGroupMessageRequest {
   body: string;
 }
@@ -96,10 +104,17 @@ export const groupsApi = {
     apiClient.post(`/groups/${groupId}/leave`),
 
   /**
-   * Get group messages
+   * Get a page of group messages: the newest page, or the page before message :before.
+   * One extra message is requested to tell whether an older page exists.
    */
-  getGroupMessages: (groupId: number) =>
-    apiClient.get<GroupMessageDto[]>(`/groups/${groupId}/messages`),
+  getGroupMessages: async (groupId: number, before?: number): Promise<GroupMessagePage> => {
+    const beforeParam = before !== undefined ? `&before=${before}` : '';
+    const messages = await apiClient.get<GroupMessageDto[]>(
+      `/groups/${groupId}/messages?limit=${GROUP_MESSAGE_PAGE_SIZE + 1}${beforeParam}`
+    );
+    const hasMore = messages.length > GROUP_MESSAGE_PAGE_SIZE;
+    return { messages: hasMore ? messages.slice(1) : messages, hasMore };
+  },
 
   /**
    * Send a message to a group
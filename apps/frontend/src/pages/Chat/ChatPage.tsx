@@ -18,7 +18,9 @@ type Message = {
 
 type ConversationResponse = {
   conversationId: number;
+  // One page, oldest first; hasMore means older messages exist before messages[0]
   messages: Message[];
+  hasMore: boolean;
 };
 
 export function ChatPage() {
@@ -32,7 +34,9 @@ export function ChatPage() {
   const [sending, setSending] = useState(false);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState('');
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  const messagesContainerRef = useRef<HTMLDivElement>(null);
 
   useEffect(() => {
     loadConversations();
@@ -85,6 +89,36 @@ export function ChatPage() {
     }
   };
 
+  const loadOlderMessages = async () => {
+    const oldest = activeConversation?.messages[0];
+    if (!otherUserId || !oldest || loadingOlder) return;
+
+    setLoadingOlder(true);
+    const container = messagesContainerRef.current;
+    const previousScrollHeight = container?.scrollHeight ?? 0;
+
+    try {
+      const page = await apiClient.get<ConversationResponse>(
+        `/messages/conversation/${otherUserId}?before=${oldest.id}`
+      );
+      setActiveConversation(prev =>
+        prev ? { ...prev, messages: [...page.messages, ...prev.messages], hasMore: page.hasMore } : prev
+      );
+
+      // Keep the message that was at the top in view instead of jumping up
+      requestAnimationFrame(() => {
+        if (container) {
+          container.scrollTop += container.scrollHeight - previousScrollHeight;
+        }
+      });
+    } catch (error: any) {
+      console.error('Failed to load older messages:', error);
+      toast.error(error.message ?? 'Failed to load older messages');
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const scrollToBottom = () => {
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   };
@@ -255,7 +289,19 @@ export function ChatPage() {
             </div>
 
             {/* Messages */}
-            <div className="flex-1 overflow-y-auto p-4 space-y-4">
+            <div ref={messagesContainerRef} className="flex-1 overflow-y-auto p-4 space-y-4">
+              {activeConversation?.hasMore && (
+                <div className="flex justify-center">
+                  <Button
+                    variant="ghost"
+                    size="sm"
+                    loading={loadingOlder}
+                    onClick={loadOlderMessages}
+                  >
+                    Load older messages
+                  </Button>
+                </div>
+              )}
               {activeConversation?.messages.length === 0 ? (
                 <div className="flex items-center justify-center h-full">
                   <p className="text-light-text-secondary">
@@ -18,7 +18,10 @@ export function GroupChatPage() {
   const [newMessage, setNewMessage] = useState('');
   const [sending, setSending] = useState(false);
   const [loading, setLoading] = useState(true);
+  const [hasOlder, setHasOlder] = useState(false);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  const messagesContainerRef = useRef<HTMLDivElement>(null);
 
   useEffect(() => {
     if (groupId) {
@@ -29,13 +32,14 @@ export function GroupChatPage() {
   const loadGroupData = async () => {
     setLoading(true);
     try {
-      const [groupData, messagesData] = await Promise.all([
+      const [groupData, messagePage] = await Promise.all([
         groupsApi.getGroupDetails(Number(groupId)),
         groupsApi.getGroupMessages(Number(groupId)),
       ]);
 
       setGroup(groupData);
-      setMessages(messagesData);
+      setMessages(messagePage.messages);
+      setHasOlder(messagePage.hasMore);
 
       // Mark messages as read
       await groupsApi.markGroupAsRead(Number(groupId));
@@ -53,6 +57,33 @@ export function GroupChatPage() {
     }
   };
 
+  const loadOlderMessages = async () => {
+    const oldest = messages[0];
+    if (!groupId || !oldest || loadingOlder) return;
+
+    setLoadingOlder(true);
+    const container = messagesContainerRef.current;
+    const previousScrollHeight = container?.scrollHeight ?? 0;
+
+    try {
+      const page = await groupsApi.getGroupMessages(Number(groupId), oldest.id);
+      setMessages(prev => [...page.messages, ...prev]);
+      setHasOlder(page.hasMore);
+
+      // Keep the message that was at the top in view instead of jumping up
+      requestAnimationFrame(() => {
+        if (container) {
+          container.scrollTop += container.scrollHeight - previousScrollHeight;
+        }
+      });
+    } catch (error: any) {
+      console.error('Failed to load older messages:', error);
+      toast.error(error.message ?? 'Failed to load older messages');
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const scrollToBottom = () => {
     messagesEndRef.current?.scrollIntoView({ behavior: 'smooth' });
   };
@@ -127,8 +158,20 @@ export function GroupChatPage() {
       </div>
 
       {/* Messages */}
-      <div className="flex-1 overflow-y-auto p-4">
+      <div ref={messagesContainerRef} className="flex-1 overflow-y-auto p-4">
         <div className="max-w-5xl mx-auto space-y-4">
+          {hasOlder && (
+            <div className="flex justify-center">
+              <Button
+                variant="ghost"
+                size="sm"
+                loading={loadingOlder}
+                onClick={loadOlderMessages}
+              >
+                Load older messages
+              </Button>
+            </div>
+          )}
           {messages.length === 0 ? (
             <div className="text-center py-12">
               <div className="w-16 h-16 bg-gray-100 dark:bg-gray-800 rounded-full flex items-center justify-center mx-auto mb-4">
@@ -119,16 +119,15 @@ export function ProfilePage() {
     setUploading(true);
 
     try {
-      const formData = new FormData();
-      formData.append('file', selectedFile);
-
+      // Raw body upload: the server streams it to storage without spooling
       const token = localStorage.getItem('collegebuddy_jwt');
-      const response = await fetch(`${API_BASE_URL}/profile/upload-avatar`, {
-        method: 'POST',
+      const response = await fetch(`${API_BASE_URL}/profile/avatar`, {
+        method: 'PUT',
         headers: {
           Authorization: `Bearer ${token}`,
+          'Content-Type': selectedFile.type || 'application/octet-stream',
         },
-        body: formData,
+        body: selectedFile,
       });
 
       if (!response.ok) {
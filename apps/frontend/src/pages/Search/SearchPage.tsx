@@ -15,6 +15,12 @@ type SearchResult = {
   campusDomain?: string;
 };
 
+type SearchResponse = {
+  results: SearchResult[];
+  page: number;
+  hasMore: boolean;
+};
+
 type ConnectionStatus = 'you' | 'connected' | 'pending' | 'connect';
 
 const MAX_RECENT_SEARCHES = 10;
@@ -27,6 +33,11 @@ export function SearchPage() {
   const [query, setQuery] = useState('');
   const [results, setResults] = useState<SearchResult[]>([]);
   const [loading, setLoading] = useState(false);
+  // The term and last page behind the current results, for "Show more"
+  const [resultsTerm, setResultsTerm] = useState('');
+  const [resultsPage, setResultsPage] = useState(0);
+  const [hasMoreResults, setHasMoreResults] = useState(false);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [recentSearches, setRecentSearches] = useState<string[]>([]);
   const [connections, setConnections] = useState<number[]>([]);
   const [pendingRequests, setPendingRequests] = useState<number[]>([]);
@@ -46,6 +57,7 @@ export function SearchPage() {
   useEffect(() => {
     if (query.trim() === '') {
       setResults([]);
+      setHasMoreResults(false);
     }
   }, [query]);
 
@@ -122,15 +134,17 @@ export function SearchPage() {
     setLoading(true);
 
     try {
-      const response = await apiClient.post<any>('/search', {
+      const response = await apiClient.post<SearchResponse>('/search', {
         query: term.trim(),
+        page: 0,
       });
 
-      const list: SearchResult[] = Array.isArray(response)
-        ? response
-        : response?.results ?? [];
+      const list = response.results ?? [];
 
       setResults(list);
+      setResultsTerm(term.trim());
+      setResultsPage(0);
+      setHasMoreResults(response.hasMore);
       saveRecentSearch(term.trim());
 
       if (list.length === 0) {
@@ -144,6 +158,32 @@ export function SearchPage() {
     }
   }
 
+  async function handleShowMore() {
+    if (!resultsTerm || loadingMore) return;
+
+    setLoadingMore(true);
+
+    try {
+      const response = await apiClient.post<SearchResponse>('/search', {
+        query: resultsTerm,
+        page: resultsPage + 1,
+      });
+
+      // Someone may have joined or left between pages; skip anyone already shown
+      setResults((prev) => {
+        const shown = new Set(prev.map((r) => r.id));
+        return [...prev, ...(response.results ?? []).filter((r) => !shown.has(r.id))];
+      });
+      setResultsPage(resultsPage + 1);
+      setHasMoreResults(response.hasMore);
+    } catch (err: any) {
+      console.error('Search error:', err);
+      toast.error(err.message ?? 'Failed to load more results');
+    } finally {
+      setLoadingMore(false);
+    }
+  }
+
   async function handleConnect(userId: number, displayName: string) {
     try {
       await apiClient.post('/connections/request', {
@@ -292,7 +332,7 @@ export function SearchPage() {
       {results.length > 0 && (
         <div>
           <h3 className="font-semibold text-light-text-primary dark:text-dark-text-primary mb-4">
-            Results ({results.length})
+            Results ({results.length}{hasMoreResults ? '+' : ''})
           </h3>
           <div className="space-y-3">
             {results.map((result) => {
@@ -376,6 +416,17 @@ export function SearchPage() {
               );
             })}
           </div>
+          {hasMoreResults && (
+            <Button
+              variant="secondary"
+              fullWidth
+              loading={loadingMore}
+              onClick={handleShowMore}
+              className="mt-4"
+            >
+              Show more
+            </Button>
+          )}
         </div>
       )}
 
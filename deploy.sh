@@ -25,6 +25,7 @@ fi
 read -p "Enter your GCP Project ID: " PROJECT_ID
 read -p "Enter your domain (e.g., collegebuddy.app): " DOMAIN
 read -p "Enter Cloud SQL instance name (e.g., collegebuddy-db): " SQL_INSTANCE
+read -p "Enter Cloud Storage bucket for avatars (e.g., collegebuddy-media): " MEDIA_BUCKET
 read -p "Enter region (default: us-central1): " REGION
 REGION=${REGION:-us-central1}
 
@@ -33,6 +34,7 @@ echo -e "${YELLOW}📝 Configuration:${NC}"
 echo "  Project: $PROJECT_ID"
 echo "  Domain: $DOMAIN"
 echo "  SQL Instance: $SQL_INSTANCE"
+echo "  Media Bucket: $MEDIA_BUCKET"
 echo "  Region: $REGION"
 echo ""
 read -p "Continue with deployment? (y/n): " CONFIRM
@@ -72,6 +74,7 @@ if [ "$SECRETS_READY" != "y" ]; then
     echo "  - jwt-secret"
     echo "  - db-password"
     echo "  - sendgrid-api-key"
+    echo "  - media-access-key, media-secret-key (HMAC key for the media bucket)"
     echo ""
     echo "Example:"
     echo "  echo -n 'YOUR_SECRET' | gcloud secrets create jwt-secret --data-file=-"
@@ -88,16 +91,25 @@ gcloud run deploy collegebuddy-api \
   --platform managed \
   --region $REGION \
   --allow-unauthenticated \
+  --set-env-vars="SPRING_PROFILES_ACTIVE=prod" \
+  --set-env-vars="REALTIME_BUS=postgres" \
   --set-env-vars="DB_USERNAME=collegebuddy" \
   --set-env-vars="DB_URL=jdbc:postgresql:///$SQL_INSTANCE?cloudSqlInstance=$SQL_CONNECTION&socketFactory=com.google.cloud.sql.postgres.SocketFactory" \
   --set-env-vars="EMAIL_FROM=noreply@$DOMAIN" \
-  --set-env-vars="EMAIL_STRATEGY=smtp" \
+  --set-env-vars="EMAIL_STRATEGY=smtp-pooled" \
   --set-env-vars="FRONTEND_URL=https://$DOMAIN" \
   --set-env-vars="CORS_ALLOWED_ORIGINS=https://$DOMAIN,https://www.$DOMAIN" \
+  --set-env-vars="STORAGE_TYPE=object" \
+  --set-env-vars="OBJECT_STORAGE_PROVIDER=s3" \
+  --set-env-vars="OBJECT_STORAGE_BUCKET=$MEDIA_BUCKET" \
+  --set-env-vars="OBJECT_CACHE_DIR=/tmp/media-cache/" \
+  --set-env-vars="OBJECT_CACHE_MAX_BYTES=134217728" \
   --add-cloudsql-instances=$SQL_CONNECTION \
   --update-secrets=DB_PASSWORD=db-password:latest \
   --update-secrets=JWT_SECRET=jwt-secret:latest \
   --update-secrets=SENDGRID_API_KEY=sendgrid-api-key:latest \
+  --update-secrets=OBJECT_STORAGE_ACCESS_KEY=media-access-key:latest \
+  --update-secrets=OBJECT_STORAGE_SECRET_KEY=media-secret-key:latest \
   --memory=1Gi \
   --cpu=1 \
   --min-instances=0 \